@@ -79,6 +79,8 @@ import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
 import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
 import org.openhab.binding.hue.internal.api.serialization.InstantDeserializer;
+import org.openhab.binding.hue.internal.connection.Clip2CommandCoalescer.PendingCommand;
+import org.openhab.binding.hue.internal.connection.Clip2CommandCoalescer.Submission;
 import org.openhab.binding.hue.internal.exceptions.ApiException;
 import org.openhab.binding.hue.internal.exceptions.HttpUnauthorizedException;
 import org.openhab.binding.hue.internal.handler.Clip2BridgeHandler;
@@ -91,6 +93,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
@@ -563,6 +566,7 @@ public class Clip2Bridge implements Closeable {
     private final Semaphore streamMutex = new Semaphore(MAX_CONCURRENT_STREAMS, true); // i.e. fair
     private final ReadWriteLock sessionUseCreateLock = new ReentrantReadWriteLock(true); // i.e. fair
     private final Map<Integer, Future<?>> fatalErrorTasks = new ConcurrentHashMap<>();
+    private final Clip2CommandCoalescer commandCoalescer = new Clip2CommandCoalescer();
 
     private boolean recreatingSession;
     private boolean closing;
@@ -643,6 +647,8 @@ public class Clip2Bridge implements Closeable {
     @Override
     public void close() {
         closing = true;
+        LOGGER.debug("close() coalesced commands:{}, commands replaced by grouped light commands:{}",
+                commandCoalescer.getCoalescedCount(), commandCoalescer.getGroupedCount());
         Thread recreateThread = this.recreateThread;
         if (Objects.nonNull(recreateThread) && recreateThread.isAlive()) {
             recreateThread.interrupt();
@@ -1081,9 +1087,10 @@ public class Clip2Bridge implements Closeable {
     }
 
     /**
-     * Use an HTTP/2 PUT command to send a resource to the server. Uses a Throttler to prevent too many concurrent
-     * calls, and to prevent too frequent calls on the Hue bridge server. Also uses a SessionSynchronizer to delay
-     * accessing the session while it is being recreated.
+     * Use an HTTP/2 PUT command to send a resource to the server. Commands to lights and grouped lights are passed
+     * through a Clip2CommandCoalescer, so that a command which is superseded while it is waiting for the Throttler is
+     * merged with the newer one, and so that the same command to every light of a room or zone is sent as a single
+     * grouped light command.
      *
      * @param resource the resource to put.
      * @return the resource, which may contain errors.
@@ -1091,13 +1098,54 @@ public class Clip2Bridge implements Closeable {
      * @throws InterruptedException
      */
     public Resources putResource(Resource resource) throws ApiException, InterruptedException {
+        Submission submission = commandCoalescer.submit(resource.getType(), resource.getId(),
+                jsonParser.toJsonTree(resource).getAsJsonObject());
+        PendingCommand command = submission.command();
+        if (!submission.send()) {
+            LOGGER.trace("putResource() {} merged into pending command", resource.getId());
+            return commandCoalescer.await(command);
+        }
+        try {
+            Resources resources = putCommand(command);
+            if (Objects.isNull(resources)) {
+                PendingCommand redirect = command.getRedirect();
+                LOGGER.trace("putResource() {} replaced by grouped light command {}", resource.getId(),
+                        Objects.nonNull(redirect) ? redirect.getId() : null);
+                return commandCoalescer.await(command);
+            }
+            commandCoalescer.complete(command, resources);
+            return resources;
+        } catch (ApiException e) {
+            commandCoalescer.fail(command, e);
+            throw e;
+        } finally {
+            commandCoalescer.release(command);
+        }
+    }
+
+    /**
+     * Use an HTTP/2 PUT command to send a pending command to the server. Uses a Throttler to prevent too many
+     * concurrent calls, and to prevent too frequent calls on the Hue bridge server. Also uses a SessionSynchronizer to
+     * delay accessing the session while it is being recreated. The request is only taken from the pending command
+     * after the Throttler has been passed, so that newer commands can still be merged into it while it is waiting.
+     *
+     * @param command the pending command to put.
+     * @return the resource, which may contain errors, or null if the command was replaced by a grouped light command.
+     * @throws ApiException if something fails.
+     * @throws InterruptedException
+     */
+    private @Nullable Resources putCommand(PendingCommand command) throws ApiException, InterruptedException {
         Stream stream = null;
         try (Throttler throttler = new Throttler(MAX_CONCURRENT_STREAMS);
                 SessionSynchronizer sessionSynchronizer = new SessionSynchronizer(false)) {
+            JsonObject request = commandCoalescer.takeRequest(command);
+            if (Objects.isNull(request)) {
+                return null;
+            }
             Session session = getSession();
-            String requestJson = jsonParser.toJson(resource);
+            String requestJson = jsonParser.toJson(request);
             ByteBuffer requestBytes = ByteBuffer.wrap(requestJson.getBytes(StandardCharsets.UTF_8));
-            String url = getUrl(new ResourceReference().setId(resource.getId()).setType(resource.getType()));
+            String url = getUrl(new ResourceReference().setId(command.getId()).setType(command.getType()));
             HeadersFrame headers = prepareHeaders(url, MediaType.APPLICATION_JSON, "PUT", requestBytes.capacity(),
                     MediaType.APPLICATION_JSON);
             LOGGER.trace("PUT {} HTTP/2 >> {}", url, requestJson);
@@ -1134,6 +1182,17 @@ public class Clip2Bridge implements Closeable {
         }
     }
 
+    /**
+     * Update the lights that belong to each room and zone, so that commands to all lights of a room or zone can be
+     * replaced by a single grouped light command.
+     *
+     * @param devices the list of device resources.
+     * @param groups the list of room and zone resources.
+     */
+    public void setLightGroups(List<Resource> devices, List<Resource> groups) {
+        commandCoalescer.setLightGroups(devices, groups);
+    }
+
     /**
      * Close and re-open the session. Called when the server sends a GO_AWAY message. Acquires a SessionSynchronizer
      * 'write' lock to ensure single thread access while the new session is being created. Therefore it waits for any
@@ -0,0 +1,360 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Class for coalescing PUT commands to <code>light</code> and <code>grouped_light</code> resources, while they are
+ * waiting for the {@link Clip2Bridge} throttler.
+ * <p>
+ * a) If a command is submitted for a resource that already has a command waiting, the fields of the new command are
+ * merged into the waiting command, and both callers receive the result of the single merged PUT.
+ * <p>
+ * b) If the same command is submitted for every light of a room or zone (e.g. by a rule that switches all of them), the
+ * waiting light commands are replaced by a single command to the <code>grouped_light</code> of that room or zone.
+ * Lights whose command has already been sent within the last GROUP_WINDOW_MILLISECS also count towards the group.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class Clip2CommandCoalescer {
+
+    /**
+     * A command that is waiting to be sent.
+     */
+    static class PendingCommand {
+        private final ResourceType type;
+        private final String id;
+        private final CompletableFuture<Resources> result = new CompletableFuture<>();
+        private final List<PendingCommand> members = new ArrayList<>();
+        private @Nullable JsonObject request;
+        private @Nullable PendingCommand redirect;
+
+        private PendingCommand(ResourceType type, String id, JsonObject request) {
+            this.type = type;
+            this.id = id;
+            this.request = request;
+        }
+
+        ResourceType getType() {
+            return type;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        /**
+         * @return the command that this command has been replaced by, or null if it has not been replaced.
+         */
+        @Nullable
+        PendingCommand getRedirect() {
+            return redirect;
+        }
+    }
+
+    /**
+     * The result of submitting a command. If 'send' is true the caller must send the command, otherwise it must only
+     * await the result.
+     */
+    record Submission(PendingCommand command, boolean send) {
+    }
+
+    private record SentCommand(JsonObject payload, long time) {
+    }
+
+    static final long GROUP_WINDOW_MILLISECS = 1000;
+
+    private static final Set<ResourceType> COALESCED_TYPES = Set.of(ResourceType.LIGHT, ResourceType.GROUPED_LIGHT);
+    private static final Set<String> GROUPABLE_FIELDS = Set.of("on", "dimming", "color", "color_temperature",
+            "dynamics");
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TYPE = "type";
+
+    private final Map<String, PendingCommand> pendingCommands = new HashMap<>();
+    private final Map<String, SentCommand> sentLightCommands = new HashMap<>();
+
+    private Map<String, Set<String>> lightsByGroup = Map.of();
+    private Map<String, List<String>> groupsByLight = Map.of();
+    private long coalescedCount;
+    private long groupedCount;
+
+    private static String key(ResourceType type, String id) {
+        return type.name() + "/" + id;
+    }
+
+    private static JsonObject payloadOf(JsonObject request) {
+        JsonObject payload = request.deepCopy();
+        payload.remove(FIELD_ID);
+        payload.remove(FIELD_TYPE);
+        return payload;
+    }
+
+    /**
+     * Submit a command. The command is merged into a command that is already waiting for the same resource, or it is
+     * added as a new waiting command. Afterwards it checks if the command can be sent as a <code>grouped_light</code>
+     * command instead.
+     *
+     * @param type the resource type.
+     * @param id the resource id.
+     * @param request the JSON request.
+     * @return the submission.
+     */
+    synchronized Submission submit(ResourceType type, String id, JsonObject request) {
+        if (!COALESCED_TYPES.contains(type)) {
+            return new Submission(new PendingCommand(type, id, request), true);
+        }
+        Submission submission = add(type, id, request);
+        if (ResourceType.LIGHT == type) {
+            long now = System.currentTimeMillis();
+            sentLightCommands.values().removeIf(sent -> now - sent.time() > GROUP_WINDOW_MILLISECS);
+            JsonObject payload = payloadOf(Objects.requireNonNull(submission.command().request));
+            for (String groupId : groupsByLight.getOrDefault(id, List.of())) {
+                Submission groupSubmission = addGroupCommand(groupId, payload);
+                if (Objects.nonNull(groupSubmission)) {
+                    return groupSubmission;
+                }
+            }
+        }
+        return submission;
+    }
+
+    private Submission add(ResourceType type, String id, JsonObject request) {
+        String key = key(type, id);
+        PendingCommand command = pendingCommands.get(key);
+        if (Objects.nonNull(command)) {
+            JsonObject pendingRequest = Objects.requireNonNull(command.request);
+            for (Map.Entry<String, JsonElement> field : request.entrySet()) {
+                pendingRequest.add(field.getKey(), field.getValue().deepCopy());
+            }
+            coalescedCount++;
+            return new Submission(command, false);
+        }
+        command = new PendingCommand(type, id, request);
+        pendingCommands.put(key, command);
+        return new Submission(command, true);
+    }
+
+    /**
+     * Check if all lights of the given group have a waiting (or recently sent) command with the given payload, and if
+     * so replace the waiting light commands by one <code>grouped_light</code> command.
+     *
+     * @return the submission of the group command, or null if the group is not complete.
+     */
+    private @Nullable Submission addGroupCommand(String groupId, JsonObject payload) {
+        if (!GROUPABLE_FIELDS.containsAll(payload.keySet())) {
+            return null;
+        }
+        List<PendingCommand> members = new ArrayList<>();
+        for (String lightId : lightsByGroup.getOrDefault(groupId, Set.of())) {
+            PendingCommand command = pendingCommands.get(key(ResourceType.LIGHT, lightId));
+            if (Objects.nonNull(command)) {
+                if (!payload.equals(payloadOf(Objects.requireNonNull(command.request)))) {
+                    return null;
+                }
+                members.add(command);
+            } else {
+                SentCommand sent = sentLightCommands.get(lightId);
+                if (Objects.isNull(sent) || !payload.equals(sent.payload())) {
+                    return null;
+                }
+            }
+        }
+        if (members.size() < 2) {
+            return null;
+        }
+        JsonObject groupRequest = payload.deepCopy();
+        groupRequest.addProperty(FIELD_TYPE, ResourceType.GROUPED_LIGHT.name().toLowerCase());
+        groupRequest.addProperty(FIELD_ID, groupId);
+        Submission submission = add(ResourceType.GROUPED_LIGHT, groupId, groupRequest);
+        PendingCommand groupCommand = submission.command();
+        for (PendingCommand member : members) {
+            pendingCommands.remove(key(member.type, member.id));
+            member.request = null;
+            member.redirect = groupCommand;
+            groupCommand.members.add(member);
+        }
+        groupedCount += members.size();
+        // unless a group command was already waiting, the caller that completed the group is now responsible for it
+        return submission;
+    }
+
+    /**
+     * Take the request of a command that is about to be sent. After this, no further commands are merged into it.
+     *
+     * @param command the command.
+     * @return the JSON request, or null if the command has been replaced by a group command.
+     */
+    synchronized @Nullable JsonObject takeRequest(PendingCommand command) {
+        pendingCommands.remove(key(command.type, command.id), command);
+        JsonObject request = command.request;
+        command.request = null;
+        if (Objects.nonNull(request) && ResourceType.LIGHT == command.type) {
+            sentLightCommands.put(command.id, new SentCommand(payloadOf(request), System.currentTimeMillis()));
+        }
+        return request;
+    }
+
+    /**
+     * Complete a command, and all light commands that it replaced, with the given result.
+     */
+    void complete(PendingCommand command, Resources resources) {
+        command.result.complete(resources);
+        getMembers(command).forEach(member -> member.result.complete(resources));
+    }
+
+    /**
+     * Complete a command, and all light commands that it replaced, with the given exception.
+     */
+    void fail(PendingCommand command, ApiException exception) {
+        command.result.completeExceptionally(exception);
+        getMembers(command).forEach(member -> member.result.completeExceptionally(exception));
+    }
+
+    /**
+     * Release a command after its sender has finished. If for any reason the command was neither completed nor
+     * replaced, it is failed, so that no caller keeps waiting for it.
+     */
+    void release(PendingCommand command) {
+        synchronized (this) {
+            pendingCommands.remove(key(command.type, command.id), command);
+            if (Objects.nonNull(command.redirect)) {
+                return;
+            }
+        }
+        if (!command.result.isDone()) {
+            fail(command, new ApiException("Command was not sent"));
+        }
+    }
+
+    private synchronized List<PendingCommand> getMembers(PendingCommand command) {
+        return List.copyOf(command.members);
+    }
+
+    /**
+     * Wait for the result of a command.
+     *
+     * @param command the command.
+     * @return the result.
+     * @throws ApiException if sending the command failed.
+     * @throws InterruptedException
+     */
+    Resources await(PendingCommand command) throws ApiException, InterruptedException {
+        try {
+            return command.result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            String message = Objects.nonNull(cause) ? cause.getMessage() : null;
+            throw new ApiException(Objects.nonNull(message) ? message : "Command failed", cause);
+        }
+    }
+
+    /**
+     * Update the lights that belong to each room and zone.
+     *
+     * @param devices the list of device resources.
+     * @param groups the list of room and zone resources.
+     */
+    synchronized void setLightGroups(List<Resource> devices, List<Resource> groups) {
+        Map<String, Resource> devicesById = new HashMap<>();
+        devices.forEach(device -> devicesById.put(device.getId(), device));
+        Map<String, Resource> groupsById = new HashMap<>();
+        groups.forEach(group -> groupsById.put(group.getId(), group));
+
+        Map<String, Set<String>> lightsByGroup = new HashMap<>();
+        Map<String, List<String>> groupsByLight = new HashMap<>();
+        for (Resource group : groups) {
+            String groupId = group.getServiceReferences().stream()
+                    .filter(service -> ResourceType.GROUPED_LIGHT == service.getType()).map(ResourceReference::getId)
+                    .filter(Objects::nonNull).findFirst().orElse(null);
+            if (Objects.isNull(groupId)) {
+                continue;
+            }
+            Set<String> lightIds = new HashSet<>();
+            addLights(group, devicesById, groupsById, lightIds);
+            if (lightIds.size() > 1) {
+                lightsByGroup.put(groupId, lightIds);
+                for (String lightId : lightIds) {
+                    groupsByLight.computeIfAbsent(lightId, k -> new ArrayList<>()).add(groupId);
+                }
+            }
+        }
+        this.lightsByGroup = lightsByGroup;
+        this.groupsByLight = groupsByLight;
+    }
+
+    private static void addLights(Resource group, Map<String, Resource> devicesById, Map<String, Resource> groupsById,
+            Set<String> lightIds) {
+        for (ResourceReference child : group.getChildren()) {
+            String childId = child.getId();
+            if (Objects.isNull(childId)) {
+                continue;
+            }
+            switch (child.getType()) {
+                case LIGHT:
+                    lightIds.add(childId);
+                    break;
+                case DEVICE:
+                    Resource device = devicesById.get(childId);
+                    if (Objects.nonNull(device)) {
+                        device.getServiceReferences().stream()
+                                .filter(service -> ResourceType.LIGHT == service.getType())
+                                .map(ResourceReference::getId).filter(Objects::nonNull)
+                                .forEach(lightId -> lightIds.add(Objects.requireNonNull(lightId)));
+                    }
+                    break;
+                case ROOM:
+                    // e.g. the rooms of the 'All Lights' bridge home
+                    Resource room = groupsById.get(childId);
+                    if (Objects.nonNull(room) && room != group) {
+                        addLights(room, devicesById, groupsById, lightIds);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    synchronized long getGroupedCount() {
+        return groupedCount;
+    }
+
+    synchronized int getPendingCount() {
+        return pendingCommands.size();
+    }
+}
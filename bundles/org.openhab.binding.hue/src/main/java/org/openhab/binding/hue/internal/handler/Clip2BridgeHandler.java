@@ -15,6 +15,7 @@ package org.openhab.binding.hue.internal.handler;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -728,13 +729,24 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         logger.debug("updateThingsNow()");
         try {
             Clip2Bridge bridge = getClip2Bridge();
+            List<Resource> devices = List.of();
+            List<Resource> groups = new ArrayList<>();
             for (ResourceReference reference : MASS_DOWNLOAD_RESOURCE_REFERENCES) {
                 ResourceType resourceType = reference.getType();
                 List<Resource> resourceList = bridge.getResources(reference).getResources();
                 switch (resourceType) {
+                    case DEVICE:
+                        devices = resourceList;
+                        break;
+
+                    case ROOM:
+                        groups.addAll(resourceList);
+                        break;
+
                     case ZONE:
                         // add special 'All Lights' zone to the zone resource list
                         resourceList.addAll(bridge.getResources(BRIDGE_HOME).getResources());
+                        groups.addAll(resourceList);
                         break;
 
                     case SCENE:
@@ -752,6 +764,7 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
                     }
                 });
             }
+            bridge.setLightGroups(devices, groups);
         } catch (ApiException | AssetNotLoadedException e) {
             if (logger.isDebugEnabled()) {
                 logger.debug("updateThingsNow() unexpected exception", e);
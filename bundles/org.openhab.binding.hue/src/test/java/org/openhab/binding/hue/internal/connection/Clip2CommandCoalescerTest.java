@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
+import org.openhab.binding.hue.internal.connection.Clip2CommandCoalescer.PendingCommand;
+import org.openhab.binding.hue.internal.connection.Clip2CommandCoalescer.Submission;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+import org.openhab.core.library.types.OnOffType;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+/**
+ * JUnit test for the CLIP 2 command coalescer.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class Clip2CommandCoalescerTest {
+
+    private static final Gson GSON = new Gson();
+
+    private static final String ROOM = """
+            {"id":"room","type":"room","services":[{"rid":"grouped","rtype":"grouped_light"}],"children":[
+            {"rid":"device1","rtype":"device"},{"rid":"device2","rtype":"device"},
+            {"rid":"device3","rtype":"device"}]}""";
+
+    private static Resource device(int i) {
+        return GSON.fromJson(String.format("""
+                {"id":"device%d","type":"device","services":[{"rid":"light%d","rtype":"light"}]}""", i, i),
+                Resource.class);
+    }
+
+    private static Clip2CommandCoalescer createCoalescer() {
+        Clip2CommandCoalescer coalescer = new Clip2CommandCoalescer();
+        Resource room = GSON.fromJson(ROOM, Resource.class);
+        coalescer.setLightGroups(List.of(device(1), device(2), device(3)), List.of(room));
+        return coalescer;
+    }
+
+    private static JsonObject request(Resource resource) {
+        return GSON.toJsonTree(resource).getAsJsonObject();
+    }
+
+    private static Submission submitOnOff(Clip2CommandCoalescer coalescer, String id, OnOffType command) {
+        return coalescer.submit(ResourceType.LIGHT, id,
+                request(new Resource(ResourceType.LIGHT).setId(id).setOnOff(command)));
+    }
+
+    @Test
+    void testSupersededCommandIsMerged() throws Exception {
+        Clip2CommandCoalescer coalescer = new Clip2CommandCoalescer();
+
+        Submission first = submitOnOff(coalescer, "light1", OnOffType.ON);
+        Submission second = submitOnOff(coalescer, "light1", OnOffType.OFF);
+        assertTrue(first.send());
+        assertFalse(second.send());
+        assertSame(first.command(), second.command());
+        assertEquals(1, coalescer.getCoalescedCount());
+
+        JsonObject request = coalescer.takeRequest(first.command());
+        assertNotNull(request);
+        assertFalse(request.getAsJsonObject("on").get("on").getAsBoolean());
+
+        // once taken, a new command is not merged any more
+        Submission third = submitOnOff(coalescer, "light1", OnOffType.ON);
+        assertTrue(third.send());
+        assertNotSame(first.command(), third.command());
+
+        Resources resources = new Resources();
+        coalescer.complete(first.command(), resources);
+        assertSame(resources, coalescer.await(second.command()));
+        coalescer.release(first.command());
+        coalescer.release(third.command());
+        assertEquals(0, coalescer.getPendingCount());
+    }
+
+    @Test
+    void testOtherResourceTypesAreNotMerged() {
+        Clip2CommandCoalescer coalescer = new Clip2CommandCoalescer();
+        JsonObject request = request(new Resource(ResourceType.MOTION).setId("motion").setEnabled(OnOffType.ON));
+
+        assertTrue(coalescer.submit(ResourceType.MOTION, "motion", request).send());
+        assertTrue(coalescer.submit(ResourceType.MOTION, "motion", request).send());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    void testAllLightsOfRoomAreGrouped() throws Exception {
+        Clip2CommandCoalescer coalescer = createCoalescer();
+
+        // light 1 has already been sent, lights 2 and 3 are still waiting
+        Submission light1 = submitOnOff(coalescer, "light1", OnOffType.ON);
+        assertNotNull(coalescer.takeRequest(light1.command()));
+        Submission light2 = submitOnOff(coalescer, "light2", OnOffType.ON);
+        assertTrue(light2.send());
+        Submission group = submitOnOff(coalescer, "light3", OnOffType.ON);
+
+        assertTrue(group.send());
+        PendingCommand groupCommand = group.command();
+        assertEquals(ResourceType.GROUPED_LIGHT, groupCommand.getType());
+        assertEquals("grouped", groupCommand.getId());
+        assertSame(groupCommand, light2.command().getRedirect());
+        assertEquals(2, coalescer.getGroupedCount());
+
+        // the waiting light command is not sent any more
+        assertNull(coalescer.takeRequest(light2.command()));
+        JsonObject request = coalescer.takeRequest(groupCommand);
+        assertNotNull(request);
+        assertEquals("grouped_light", request.get("type").getAsString());
+        assertTrue(request.getAsJsonObject("on").get("on").getAsBoolean());
+
+        Resources resources = new Resources();
+        coalescer.complete(groupCommand, resources);
+        assertSame(resources, coalescer.await(light2.command()));
+    }
+
+    @Test
+    void testDifferentCommandsAreNotGrouped() {
+        Clip2CommandCoalescer coalescer = createCoalescer();
+
+        submitOnOff(coalescer, "light1", OnOffType.ON);
+        submitOnOff(coalescer, "light2", OnOffType.ON);
+        Submission light3 = submitOnOff(coalescer, "light3", OnOffType.OFF);
+
+        assertEquals(ResourceType.LIGHT, light3.command().getType());
+        assertEquals(0, coalescer.getGroupedCount());
+        assertEquals(3, coalescer.getPendingCount());
+    }
+
+    @Test
+    void testUnsentCommandIsFailedOnRelease() {
+        Clip2CommandCoalescer coalescer = new Clip2CommandCoalescer();
+        Submission first = submitOnOff(coalescer, "light1", OnOffType.ON);
+        Submission second = submitOnOff(coalescer, "light1", OnOffType.ON);
+
+        coalescer.release(first.command());
+        assertThrows(ApiException.class, () -> coalescer.await(second.command()));
+        assertEquals(0, coalescer.getPendingCount());
+    }
+}
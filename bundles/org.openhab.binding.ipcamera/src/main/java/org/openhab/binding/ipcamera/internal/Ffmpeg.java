@@ -23,7 +23,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -31,6 +30,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
 import org.slf4j.Logger;
@@ -99,7 +99,7 @@ public class Ffmpeg {
     }
 
     private class IpCameraFfmpegThread extends Thread {
-        private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(1);
+        private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("thingHandler");
         public int countOfMotions;
 
         IpCameraFfmpegThread() {
@@ -183,10 +183,10 @@ public class Ffmpeg {
             } finally {
                 switch (format) {
                     case GIF:
-                        threadPool.schedule(this::gifCreated, 800, TimeUnit.MILLISECONDS);
+                        scheduler.schedule(this::gifCreated, 800, TimeUnit.MILLISECONDS);
                         break;
                     case RECORD:
-                        threadPool.schedule(this::mp4Created, 800, TimeUnit.MILLISECONDS);
+                        scheduler.schedule(this::mp4Created, 800, TimeUnit.MILLISECONDS);
                         break;
                     default:
                         break;
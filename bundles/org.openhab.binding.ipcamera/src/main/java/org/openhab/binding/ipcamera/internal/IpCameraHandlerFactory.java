@@ -14,21 +14,39 @@ package org.openhab.binding.ipcamera.internal;
 
 import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraGroupHandler;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.net.NetworkAddressService;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.http.HttpService;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
 /**
  * The {@link IpCameraHandlerFactory} is responsible for creating things and thing
  * handlers.
@@ -38,10 +56,18 @@ import org.osgi.service.http.HttpService;
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.ipcamera")
 @NonNullByDefault
 public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
+    private static final String METRIC_PREFIX = "openhab.binding.ipcamera.";
+
     private final @Nullable String openhabIpAddress;
     private final GroupTracker groupTracker = new GroupTracker();
     private final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
     private final HttpService httpService;
+    // Netty event loop shared by the HTTP and ONVIF connections of all cameras
+    private final NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors(),
+            new DefaultThreadFactory("OH-binding-ipcamera", true));
+    private final Map<IpCameraHandler, List<Meter>> cameraMeters = new HashMap<>();
+    private final List<Meter> bindingMeters = new ArrayList<>();
+    private @Nullable MeterRegistry meterRegistry;
 
     @Activate
     public IpCameraHandlerFactory(final @Reference NetworkAddressService networkAddressService,
@@ -52,6 +78,13 @@ public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
         this.httpService = httpService;
     }
 
+    @Deactivate
+    @Override
+    protected void deactivate(ComponentContext componentContext) {
+        super.deactivate(componentContext);
+        eventLoopGroup.shutdownGracefully();
+    }
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return (SUPPORTED_THING_TYPES.contains(thingTypeUID) || GROUP_SUPPORTED_THING_TYPES.contains(thingTypeUID));
@@ -62,10 +95,66 @@ public class IpCameraHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
-            return new IpCameraHandler(thing, openhabIpAddress, groupTracker, stateDescriptionProvider, httpService);
+            IpCameraHandler handler = new IpCameraHandler(thing, openhabIpAddress, groupTracker,
+                    stateDescriptionProvider, httpService, eventLoopGroup);
+            registerCameraMeters(handler);
+            return handler;
         } else if (GROUP_SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
             return new IpCameraGroupHandler(thing, openhabIpAddress, groupTracker, httpService);
         }
         return null;
     }
+
+    @Override
+    protected void removeHandler(ThingHandler thingHandler) {
+        if (thingHandler instanceof IpCameraHandler handler) {
+            unregisterCameraMeters(handler);
+        }
+        super.removeHandler(thingHandler);
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected synchronized void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        MeterRegistry registry = meterRegistryProvider.getOHMeterRegistry();
+        meterRegistry = registry;
+        bindingMeters.add(Gauge
+                .builder(METRIC_PREFIX + "eventloop.threads", eventLoopGroup, NioEventLoopGroup::executorCount)
+                .description("Number of Netty threads shared by all cameras").register(registry));
+        cameraMeters.replaceAll((handler, meters) -> createCameraMeters(handler, registry));
+    }
+
+    protected synchronized void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        MeterRegistry registry = meterRegistry;
+        meterRegistry = null;
+        if (registry != null) {
+            bindingMeters.forEach(registry::remove);
+            cameraMeters.values().forEach(meters -> meters.forEach(registry::remove));
+        }
+        bindingMeters.clear();
+        cameraMeters.replaceAll((handler, meters) -> List.of());
+    }
+
+    private synchronized void registerCameraMeters(IpCameraHandler handler) {
+        MeterRegistry registry = meterRegistry;
+        cameraMeters.put(handler, registry != null ? createCameraMeters(handler, registry) : List.of());
+    }
+
+    private synchronized void unregisterCameraMeters(IpCameraHandler handler) {
+        List<Meter> meters = cameraMeters.remove(handler);
+        MeterRegistry registry = meterRegistry;
+        if (meters != null && registry != null) {
+            meters.forEach(registry::remove);
+        }
+    }
+
+    private List<Meter> createCameraMeters(IpCameraHandler handler, MeterRegistry registry) {
+        Tags tags = Tags.of("thing", handler.getThing().getUID().getAsString());
+        return List.of(
+                FunctionCounter.builder(METRIC_PREFIX + "requests", handler, IpCameraHandler::getRequestCount)
+                        .tags(tags).description("Number of HTTP requests answered by the camera").register(registry),
+                Gauge.builder(METRIC_PREFIX + "request.latency", handler, IpCameraHandler::getAverageRequestLatency)
+                        .tags(tags).baseUnit("milliseconds")
+                        .description("Moving average of the time until the camera answers a HTTP request")
+                        .register(registry));
+    }
 }
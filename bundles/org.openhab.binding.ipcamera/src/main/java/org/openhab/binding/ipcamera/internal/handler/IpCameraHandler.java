@@ -33,12 +33,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -96,9 +95,9 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.base64.Base64;
@@ -129,7 +128,6 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 public class IpCameraHandler extends BaseThingHandler {
     public final Logger logger = LoggerFactory.getLogger(getClass());
     public final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
-    private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(2);
     private GroupTracker groupTracker;
     public CameraConfig cameraConfig = new CameraConfig();
 
@@ -153,7 +151,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private @Nullable ScheduledFuture<?> snapshotJob = null;
     private @Nullable ScheduledFuture<?> authenticationJob = null;
     private @Nullable Bootstrap mainBootstrap;
-    private EventLoopGroup mainEventLoopGroup = new NioEventLoopGroup(1);
+    private final EventLoopGroup mainEventLoopGroup;
     private FullHttpRequest putRequestWithBody = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, "");
     private FullHttpRequest postRequestWithBody = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "");
     private String gifFilename = "ipcamera";
@@ -186,6 +184,8 @@ public class IpCameraHandler extends BaseThingHandler {
     public String rtspUri = "";
     public boolean audioAlarmUpdateSnapshot = false;
     private boolean motionAlarmUpdateSnapshot = false;
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile long averageRequestLatency = 0;
     private AtomicBoolean isOnline = new AtomicBoolean(); // Used so only 1 error is logged when a network issue occurs.
     private boolean firstAudioAlarm = false;
     private boolean firstMotionAlarm = false;
@@ -209,11 +209,16 @@ public class IpCameraHandler extends BaseThingHandler {
         private Object reply = new Object();
         private String requestUrl = "";
         private boolean isChunked = false;
+        private long requestStartTime = 0;
 
         public void setURL(String url) {
             requestUrl = url;
         }
 
+        public void setRequestStartTime(long requestStartTime) {
+            this.requestStartTime = requestStartTime;
+        }
+
         @Override
         public void channelRead(@Nullable ChannelHandlerContext ctx, @Nullable Object msg) throws Exception {
             if (msg == null || ctx == null) {
@@ -221,6 +226,10 @@ public class IpCameraHandler extends BaseThingHandler {
             }
             try {
                 if (msg instanceof HttpResponse response) {
+                    if (requestStartTime != 0) {
+                        recordRequestLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartTime));
+                        requestStartTime = 0;
+                    }
                     if (response.status().code() == 200) {
                         if (!response.headers().isEmpty()) {
                             for (String name : response.headers().names()) {
@@ -394,8 +403,10 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public IpCameraHandler(Thing thing, @Nullable String ipAddress, GroupTracker groupTracker,
-            IpCameraDynamicStateDescriptionProvider stateDescriptionProvider, HttpService httpService) {
+            IpCameraDynamicStateDescriptionProvider stateDescriptionProvider, HttpService httpService,
+            EventLoopGroup eventLoopGroup) {
         super(thing);
+        mainEventLoopGroup = eventLoopGroup;
         this.stateDescriptionProvider = stateDescriptionProvider;
         if (ipAddress != null) {
             hostIp = ipAddress;
@@ -410,6 +421,34 @@ public class IpCameraHandler extends BaseThingHandler {
         return this;
     }
 
+    /**
+     * @return the Netty event loop group that is shared by all cameras.
+     */
+    public EventLoopGroup getEventLoopGroup() {
+        return mainEventLoopGroup;
+    }
+
+    private int getEventLoopThreadCount() {
+        return mainEventLoopGroup instanceof MultithreadEventLoopGroup group ? group.executorCount() : 1;
+    }
+
+    private void recordRequestLatency(long latencyMillis) {
+        // moving average, so that it follows the current state of the camera and network
+        long count = requestCount.incrementAndGet();
+        averageRequestLatency = count == 1 ? latencyMillis : (averageRequestLatency * 7 + latencyMillis) / 8;
+    }
+
+    /**
+     * @return the moving average of the time in ms between sending a HTTP request and the camera's response header.
+     */
+    public long getAverageRequestLatency() {
+        return averageRequestLatency;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
     // false clears the stored user/pass hash, true creates the hash
     public boolean setBasicAuth(boolean useBasic) {
         if (!useBasic) {
@@ -627,6 +666,7 @@ public class IpCameraHandler extends BaseThingHandler {
             }
         }
 
+        long requestStartTime = System.nanoTime();
         mainBootstrap.connect(new InetSocketAddress(cameraConfig.getIp(), port))
                 .addListener(new ChannelFutureListener() {
 
@@ -644,6 +684,7 @@ public class IpCameraHandler extends BaseThingHandler {
                             openChannel(ch, httpRequestURL);
                             CommonCameraHandler commonHandler = (CommonCameraHandler) ch.pipeline().get(COMMON_HANDLER);
                             commonHandler.setURL(httpRequestURLFull);
+                            commonHandler.setRequestStartTime(requestStartTime);
                             MyNettyAuthHandler authHandler = (MyNettyAuthHandler) ch.pipeline().get(AUTH_HANDLER);
                             authHandler.setURL(httpMethod, httpRequestURL);
 
@@ -718,7 +759,7 @@ public class IpCameraHandler extends BaseThingHandler {
         }
         closeChannel(getTinyUrl(mjpegUri));
         // Dahua cameras crash if you refresh (close and open) the stream without this delay.
-        mainEventLoopGroup.schedule(this::openMjpegStream, 300, TimeUnit.MILLISECONDS);
+        scheduler.schedule(this::openMjpegStream, 300, TimeUnit.MILLISECONDS);
     }
 
     private void openMjpegStream() {
@@ -1232,7 +1273,7 @@ public class IpCameraHandler extends BaseThingHandler {
                             return;
                         }
                         onvifCamera.setAbsolutePan(Float.valueOf(command.toString()));
-                        mainEventLoopGroup.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
+                        scheduler.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
                     }
                     return;
                 case CHANNEL_TILT:
@@ -1257,7 +1298,7 @@ public class IpCameraHandler extends BaseThingHandler {
                             return;
                         }
                         onvifCamera.setAbsoluteTilt(Float.valueOf(command.toString()));
-                        mainEventLoopGroup.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
+                        scheduler.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
                     }
                     return;
                 case CHANNEL_ZOOM:
@@ -1282,7 +1323,7 @@ public class IpCameraHandler extends BaseThingHandler {
                             return;
                         }
                         onvifCamera.setAbsoluteZoom(Float.valueOf(command.toString()));
-                        mainEventLoopGroup.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
+                        scheduler.schedule(this::sendPTZRequest, 500, TimeUnit.MILLISECONDS);
                     }
                     return;
             }
@@ -1360,12 +1401,12 @@ public class IpCameraHandler extends BaseThingHandler {
         if (!snapshotUri.isEmpty()) {
             if (cameraConfig.getGifPreroll() > 0 || cameraConfig.getUpdateImageWhen().contains("1")) {
                 snapshotPolling = true;
-                snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 1000,
+                snapshotJob = scheduler.scheduleWithFixedDelay(this::snapshotRunnable, 1000,
                         cameraConfig.getPollTime(), TimeUnit.MILLISECONDS);
             }
         }
 
-        pollCameraJob = threadPool.scheduleWithFixedDelay(this::pollCameraRunnable, 1000, 8000, TimeUnit.MILLISECONDS);
+        pollCameraJob = scheduler.scheduleWithFixedDelay(this::pollCameraRunnable, 1000, 8000, TimeUnit.MILLISECONDS);
 
         // auto restart mjpeg stream now camera is back online.
         CameraServlet localServlet = servlet;
@@ -1483,7 +1524,7 @@ public class IpCameraHandler extends BaseThingHandler {
 
     private void updateSnapshot() {
         lastSnapshotRequest = Instant.now();
-        mainEventLoopGroup.schedule(this::takeSnapshot, 0, TimeUnit.MILLISECONDS);
+        scheduler.execute(this::takeSnapshot);
     }
 
     public byte[] getSnapshot() {
@@ -1536,7 +1577,7 @@ public class IpCameraHandler extends BaseThingHandler {
         }
         if (streamingSnapshotMjpeg || streamingAutoFps || cameraConfig.getUpdateImageWhen().contains("4")) {
             snapshotPolling = true;
-            snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 0, cameraConfig.getPollTime(),
+            snapshotJob = scheduler.scheduleWithFixedDelay(this::snapshotRunnable, 0, cameraConfig.getPollTime(),
                     TimeUnit.MILLISECONDS);
         }
     }
@@ -1627,6 +1668,8 @@ public class IpCameraHandler extends BaseThingHandler {
             logger.debug("MJPEG was not being produced by FFmpeg when it should have been, restarting FFmpeg.");
             setupFfmpegFormat(FFmpegFormat.MJPEG);
         }
+        logger.trace("Camera {}: {} HTTP requests, average latency {} ms, {} shared event loop threads",
+                cameraConfig.getIp(), requestCount.get(), averageRequestLatency, getEventLoopThreadCount());
         if (openChannels.size() > 10) {
             logger.debug("There are {} open Channels being tracked.", openChannels.size());
             cleanChannels();
@@ -1636,8 +1679,6 @@ public class IpCameraHandler extends BaseThingHandler {
     @Override
     public void initialize() {
         cameraConfig = getConfigAs(CameraConfig.class);
-        threadPool = Executors.newScheduledThreadPool(2);
-        mainEventLoopGroup = new NioEventLoopGroup(3);
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
         mjpegUri = getCorrectUrlFormat(cameraConfig.getMjpegUrl());
         rtspUri = cameraConfig.getFfmpegInput();
@@ -1711,7 +1752,7 @@ public class IpCameraHandler extends BaseThingHandler {
                 break;
             case REOLINK_THING:
                 if (cameraConfig.useToken) {
-                    authenticationJob = threadPool.scheduleWithFixedDelay(this::getReolinkToken, 0, 45,
+                    authenticationJob = scheduler.scheduleWithFixedDelay(this::getReolinkToken, 0, 45,
                             TimeUnit.MINUTES);
                 } else {
                     reolinkAuth = "&user=" + cameraConfig.getUser() + "&password=" + cameraConfig.getPassword();
@@ -1750,7 +1791,7 @@ public class IpCameraHandler extends BaseThingHandler {
             // Only use ONVIF events if it is not an API camera.
             onvifCamera.connect(supportsOnvifEvents());
         }
-        cameraConnectionJob = threadPool.scheduleWithFixedDelay(this::pollingCameraConnection, 4, 12, TimeUnit.SECONDS);
+        cameraConnectionJob = scheduler.scheduleWithFixedDelay(this::pollingCameraConnection, 4, 12, TimeUnit.SECONDS);
     }
 
     private boolean supportsOnvifEvents() {
@@ -1848,7 +1889,6 @@ public class IpCameraHandler extends BaseThingHandler {
             localServlet.dispose();
             servlet = null;
         }
-        threadPool.shutdown();
         // inform all group handlers that this camera has gone offline
         groupTracker.listOfOnlineCameraHandlers.remove(this);
         groupTracker.listOfOnlineCameraUID.remove(getThing().getUID().getId());
@@ -1857,7 +1897,7 @@ public class IpCameraHandler extends BaseThingHandler {
         }
         basicAuth = ""; // clear out stored Password hash
         useDigestAuth = false;
-        mainEventLoopGroup.shutdownGracefully();
+        // the event loop group is shared with the other cameras, offline() has closed the channels of this camera
         mainBootstrap = null;
         channelTrackingMap.clear();
     }
@@ -28,7 +28,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 import java.util.TimeZone;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
@@ -37,6 +36,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.Helper;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.types.StateOption;
@@ -54,7 +54,8 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
@@ -64,6 +65,7 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.GlobalEventExecutor;
 
 /**
  * The {@link OnvifConnection} This is a basic Netty implementation for connecting and communicating to ONVIF cameras.
@@ -114,9 +116,10 @@ public class OnvifConnection {
     }
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
-    private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(2);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("thingHandler");
     private @Nullable Bootstrap bootstrap;
-    private EventLoopGroup mainEventLoopGroup = new NioEventLoopGroup(2);
+    // ChannelGroup is thread safe
+    private final ChannelGroup openChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private ReentrantLock connecting = new ReentrantLock();
     private String ipAddress = "";
     private String user = "";
@@ -555,9 +558,9 @@ public class OnvifConnection {
         request.headers().set("Content-Length", bbuf.readableBytes());
         request.content().clear().writeBytes(bbuf);
 
+        EventLoopGroup mainEventLoopGroup = ipCameraHandler.getEventLoopGroup();
         Bootstrap localBootstap = bootstrap;
         if (localBootstap == null) {
-            mainEventLoopGroup = new NioEventLoopGroup(2);
             localBootstap = new Bootstrap();
             localBootstap.group(mainEventLoopGroup);
             localBootstap.channel(NioSocketChannel.class);
@@ -587,6 +590,7 @@ public class OnvifConnection {
                     }
                     if (future.isDone() && future.isSuccess()) {
                         Channel ch = future.channel();
+                        openChannels.add(ch);
                         ch.writeAndFlush(request);
                     } else { // an error occurred
                         if (future.isDone() && !future.isCancelled()) {
@@ -941,7 +945,6 @@ public class OnvifConnection {
         try {
             if (!isConnected) {
                 logger.debug("Connecting {} to ONVIF", ipAddress);
-                threadPool = Executors.newScheduledThreadPool(2);
                 sendOnvifRequest(RequestType.GetSystemDateAndTime, deviceXAddr);
                 usingEvents = useEvents;
                 sendOnvifRequest(RequestType.GetCapabilities, deviceXAddr);
@@ -974,16 +977,15 @@ public class OnvifConnection {
     }
 
     private void cleanup() {
-        if (!isConnected && !mainEventLoopGroup.isShuttingDown()) {
+        if (!isConnected && !ipCameraHandler.getEventLoopGroup().isShuttingDown()) {
             try {
-                mainEventLoopGroup.shutdownGracefully();
-                mainEventLoopGroup.awaitTermination(3, TimeUnit.SECONDS);
+                // the event loop group is shared by all cameras, so only the channels of this connection are closed
+                openChannels.close().await(3, TimeUnit.SECONDS);
             } catch (InterruptedException e) {
                 logger.warn("ONVIF was not cleanly shutdown, due to being interrupted");
             } finally {
-                logger.debug("Eventloop is shutdown: {}", mainEventLoopGroup.isShutdown());
+                logger.debug("ONVIF channels are closed: {}", openChannels.isEmpty());
                 bootstrap = null;
-                threadPool.shutdown();
             }
         }
     }
@@ -992,13 +994,13 @@ public class OnvifConnection {
         connecting.lock();// Lock out multiple disconnect()/connect() attempts as we try to send Unsubscribe.
         try {
             if (bootstrap != null) {
-                if (isConnected && usingEvents && !mainEventLoopGroup.isShuttingDown()) {
+                if (isConnected && usingEvents && !ipCameraHandler.getEventLoopGroup().isShuttingDown()) {
                     // Only makes sense to send if connected
                     // Some cameras may continue to send events even when they can't reach a server.
                     sendOnvifRequest(RequestType.Unsubscribe, subscriptionXAddr);
                 }
                 // give time for the Unsubscribe request to be sent, shutdownGracefully will try to send it first.
-                threadPool.schedule(this::cleanup, 50, TimeUnit.MILLISECONDS);
+                scheduler.schedule(this::cleanup, 50, TimeUnit.MILLISECONDS);
             } else {
                 cleanup();
             }
@@ -20,6 +20,9 @@ import java.time.Instant;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.ServletInputStream;
@@ -33,6 +36,7 @@ import org.openhab.binding.ipcamera.internal.Ffmpeg;
 import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
+import org.openhab.core.common.ThreadPoolManager;
 import org.osgi.service.http.HttpService;
 
 /**
@@ -51,6 +55,10 @@ public class CameraServlet extends IpCameraServlet {
     public OpenStreams openStreams = new OpenStreams();
     private OpenStreams openSnapshotStreams = new OpenStreams();
     private OpenStreams openAutoFpsStreams = new OpenStreams();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("thingHandler");
+    private @Nullable ScheduledFuture<?> snapshotStreamJob;
+    private @Nullable ScheduledFuture<?> autoFpsStreamJob;
+    private int autoFpsCounter;
 
     public CameraServlet(IpCameraHandler handler, HttpService httpService) {
         super(handler, httpService, INIT_PARAMETERS);
@@ -161,96 +169,40 @@ public class CameraServlet extends IpCameraServlet {
             case "/snapshots.mjpeg":
                 handler.streamingSnapshotMjpeg = true;
                 handler.startSnapshotPolling();
-                StreamOutput output = new StreamOutput(resp);
+                StreamOutput output = new StreamOutput(req, resp, this::snapshotStreamClosed);
                 openSnapshotStreams.addStream(output);
-                do {
-                    try {
-                        output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        Thread.sleep(handler.cameraConfig.getPollTime());
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openSnapshotStreams.removeStream(output);
-                        logger.debug("Now there are {} snapshots.mjpeg streams open.",
-                                openSnapshotStreams.getNumberOfStreams());
-                        if (openSnapshotStreams.isEmpty()) {
-                            handler.streamingSnapshotMjpeg = false;
-                            handler.stopSnapshotPolling();
-                            logger.debug("All snapshots.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                output.queueFrame(StreamOutput.createSnapshotFrame(handler.getSnapshot()));
+                startSnapshotStreamJob();
+                return;
             case "/ipcamera.mjpeg":
                 if (openStreams.isEmpty()) {
                     logger.debug("First stream requested, opening up stream from camera");
                     handler.openCamerasStream();
                     if (handler.mjpegUri.isEmpty() || "ffmpeg".equals(handler.mjpegUri)) {
-                        output = new StreamOutput(resp);
+                        output = new StreamOutput(req, resp, this::mjpegStreamClosed);
                     } else {
-                        output = new StreamOutput(resp, handler.mjpegContentType);
+                        output = new StreamOutput(req, resp, handler.mjpegContentType, this::mjpegStreamClosed);
                     }
                 } else if (handler.mjpegUri.isEmpty() || "ffmpeg".equals(handler.mjpegUri)) {
-                    output = new StreamOutput(resp);
+                    output = new StreamOutput(req, resp, this::mjpegStreamClosed);
                 } else {
                     ChannelTracking tracker = handler.channelTrackingMap.get(handler.getTinyUrl(handler.mjpegUri));
                     if (tracker == null || !tracker.getChannel().isOpen()) {
                         logger.debug("Not the first stream requested but the stream from camera was closed");
                         handler.openCamerasStream();
                     }
-                    output = new StreamOutput(resp, handler.mjpegContentType);
+                    output = new StreamOutput(req, resp, handler.mjpegContentType, this::mjpegStreamClosed);
                 }
+                // Frames are pushed to all open streams by openStreams.queueFrame(), no thread waits here.
                 openStreams.addStream(output);
-                do {
-                    try {
-                        output.sendFrame();
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openStreams.removeStream(output);
-                        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
-                        if (openStreams.isEmpty()) {
-                            if (output.isSnapshotBased) {
-                                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
-                                if (localMjpeg != null) {
-                                    localMjpeg.stopConverting();
-                                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
-                                    // in handler's pollCameraRunnable() check for frozen camera
-                                    handler.ffmpegMjpeg = null;
-                                }
-                            } else {
-                                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
-                            }
-                            logger.debug("All ipcamera.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (!openStreams.isEmpty());
+                return;
             case "/autofps.mjpeg":
                 handler.streamingAutoFps = true;
-                output = new StreamOutput(resp);
+                output = new StreamOutput(req, resp, this::autoFpsStreamClosed);
                 openAutoFpsStreams.addStream(output);
-                int counter = 0;
-                do {
-                    try {
-                        if (handler.motionDetected) {
-                            output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        } // every 8 seconds if no motion or the first three snapshots to fill any FIFO
-                        else if (counter % 8 == 0 || counter < 3) {
-                            output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        }
-                        counter++;
-                        Thread.sleep(1000);
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openAutoFpsStreams.removeStream(output);
-                        logger.debug("Now there are {} autofps.mjpeg streams open.",
-                                openAutoFpsStreams.getNumberOfStreams());
-                        if (openAutoFpsStreams.isEmpty()) {
-                            handler.streamingAutoFps = false;
-                            logger.debug("All autofps.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                output.queueFrame(StreamOutput.createSnapshotFrame(handler.getSnapshot()));
+                startAutoFpsStreamJob();
+                return;
             case "/instar":
                 InstarHandler instar = new InstarHandler(handler);
                 instar.alarmTriggered(pathInfo + "?" + req.getQueryString());
@@ -270,6 +222,79 @@ public class CameraServlet extends IpCameraServlet {
         }
     }
 
+    private synchronized void startSnapshotStreamJob() {
+        ScheduledFuture<?> job = snapshotStreamJob;
+        if (job == null || job.isDone()) {
+            snapshotStreamJob = scheduler.scheduleWithFixedDelay(
+                    () -> openSnapshotStreams.queueFrame(handler.getSnapshot()), handler.cameraConfig.getPollTime(),
+                    handler.cameraConfig.getPollTime(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void startAutoFpsStreamJob() {
+        ScheduledFuture<?> job = autoFpsStreamJob;
+        if (job == null || job.isDone()) {
+            autoFpsCounter = 0;
+            autoFpsStreamJob = scheduler.scheduleWithFixedDelay(() -> {
+                // every second if motion, otherwise every 8 seconds or the first three snapshots to fill any FIFO
+                if (handler.motionDetected || autoFpsCounter % 8 == 0 || autoFpsCounter < 3) {
+                    openAutoFpsStreams.queueFrame(handler.getSnapshot());
+                }
+                autoFpsCounter++;
+            }, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    private synchronized void stopJob(@Nullable ScheduledFuture<?> job, OpenStreams streams) {
+        // a new stream may have been opened since the last one was closed
+        if (job != null && streams.isEmpty()) {
+            job.cancel(false);
+        }
+    }
+
+    private void snapshotStreamClosed(StreamOutput output) {
+        if (openSnapshotStreams.removeStream(output)) {
+            logger.debug("Now there are {} snapshots.mjpeg streams open.", openSnapshotStreams.getNumberOfStreams());
+            if (openSnapshotStreams.isEmpty()) {
+                stopJob(snapshotStreamJob, openSnapshotStreams);
+                handler.streamingSnapshotMjpeg = false;
+                handler.stopSnapshotPolling();
+                logger.debug("All snapshots.mjpeg streams have stopped.");
+            }
+        }
+    }
+
+    private void mjpegStreamClosed(StreamOutput output) {
+        if (openStreams.removeStream(output)) {
+            logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
+            if (openStreams.isEmpty()) {
+                if (output.isSnapshotBased) {
+                    Ffmpeg localMjpeg = handler.ffmpegMjpeg;
+                    if (localMjpeg != null) {
+                        localMjpeg.stopConverting();
+                        // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
+                        // in handler's pollCameraRunnable() check for frozen camera
+                        handler.ffmpegMjpeg = null;
+                    }
+                } else {
+                    handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
+                }
+                logger.debug("All ipcamera.mjpeg streams have stopped.");
+            }
+        }
+    }
+
+    private void autoFpsStreamClosed(StreamOutput output) {
+        if (openAutoFpsStreams.removeStream(output)) {
+            logger.debug("Now there are {} autofps.mjpeg streams open.", openAutoFpsStreams.getNumberOfStreams());
+            if (openAutoFpsStreams.isEmpty()) {
+                stopJob(autoFpsStreamJob, openAutoFpsStreams);
+                handler.streamingAutoFps = false;
+                logger.debug("All autofps.mjpeg streams have stopped.");
+            }
+        }
+    }
+
     @Override
     protected void sendFile(HttpServletResponse response, String filename, String contentType) throws IOException {
         // Ensure no files can be sourced from parent or child folders
@@ -282,6 +307,8 @@ public class CameraServlet extends IpCameraServlet {
         openStreams.closeAllStreams();
         openSnapshotStreams.closeAllStreams();
         openAutoFpsStreams.closeAllStreams();
+        stopJob(snapshotStreamJob, openSnapshotStreams);
+        stopJob(autoFpsStreamJob, openAutoFpsStreams);
         super.dispose();
     }
 }
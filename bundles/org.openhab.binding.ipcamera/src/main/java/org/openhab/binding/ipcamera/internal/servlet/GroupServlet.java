@@ -16,6 +16,11 @@ import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.HttpServletRequest;
@@ -24,6 +29,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraGroupHandler;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.thing.ChannelUID;
 import org.osgi.service.http.HttpService;
@@ -37,14 +43,22 @@ import org.osgi.service.http.HttpService;
 @NonNullByDefault
 public class GroupServlet extends IpCameraServlet {
     private static final long serialVersionUID = -234658667574L;
+    private static final Dictionary<Object, Object> INIT_PARAMETERS = new Hashtable<>(
+            Map.of("async-supported", "true"));
     private final IpCameraGroupHandler handler;
-    public int snapshotStreamsOpen = 0;
+    private final OpenStreams openSnapshotStreams = new OpenStreams();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("thingHandler");
+    private @Nullable ScheduledFuture<?> snapshotStreamJob;
 
     public GroupServlet(IpCameraGroupHandler handler, HttpService httpService) {
-        super(handler, httpService);
+        super(handler, httpService, INIT_PARAMETERS);
         this.handler = handler;
     }
 
+    public int getNumberOfSnapshotStreams() {
+        return openSnapshotStreams.getNumberOfStreams();
+    }
+
     @Override
     protected void doGet(@Nullable HttpServletRequest req, @Nullable HttpServletResponse resp) throws IOException {
         if (req == null || resp == null) {
@@ -85,21 +99,11 @@ public class GroupServlet extends IpCameraServlet {
             case "/ipcamera.mjpeg":
             case "/snapshots.mjpeg":
                 req.getSession().setMaxInactiveInterval(0);
-                snapshotStreamsOpen++;
-                StreamOutput output = new StreamOutput(resp);
-                do {
-                    try {
-                        output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        Thread.sleep(1005);
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        snapshotStreamsOpen--;
-                        if (snapshotStreamsOpen == 0) {
-                            logger.debug("All snapshots.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                StreamOutput output = new StreamOutput(req, resp, this::snapshotStreamClosed);
+                openSnapshotStreams.addStream(output);
+                output.queueFrame(StreamOutput.createSnapshotFrame(handler.getSnapshot()));
+                startSnapshotStreamJob();
+                return;
             default:
                 // example is "/1ipcameraxx.ts"
                 if (pathInfo.endsWith(".ts")) {
@@ -108,6 +112,29 @@ public class GroupServlet extends IpCameraServlet {
         }
     }
 
+    private synchronized void startSnapshotStreamJob() {
+        ScheduledFuture<?> job = snapshotStreamJob;
+        if (job == null || job.isDone()) {
+            snapshotStreamJob = scheduler.scheduleWithFixedDelay(
+                    () -> openSnapshotStreams.queueFrame(handler.getSnapshot()), 1005, 1005, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopSnapshotStreamJob() {
+        ScheduledFuture<?> job = snapshotStreamJob;
+        // a new stream may have been opened since the last one was closed
+        if (job != null && openSnapshotStreams.isEmpty()) {
+            job.cancel(false);
+        }
+    }
+
+    private void snapshotStreamClosed(StreamOutput output) {
+        if (openSnapshotStreams.removeStream(output) && openSnapshotStreams.isEmpty()) {
+            stopSnapshotStreamJob();
+            logger.debug("All snapshots.mjpeg streams have stopped.");
+        }
+    }
+
     private String resolveIndexToPath(String uri) {
         if (!"i".equals(uri.substring(1, 2))) {
             return handler.getOutputFolder(Integer.parseInt(uri.substring(1, 2)));
@@ -139,4 +166,11 @@ public class GroupServlet extends IpCameraServlet {
         }
         super.sendSnapshotImage(response, contentType, snapshot);
     }
+
+    @Override
+    public void dispose() {
+        openSnapshotStreams.closeAllStreams();
+        stopSnapshotStreamJob();
+        super.dispose();
+    }
 }
@@ -12,36 +12,39 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
  * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * 1 to many streams without needing to open more than 1 source stream. Snapshot based streams all share the same
+ * framed copy of each jpg.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
+    private List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
     public String boundary = "thisMjpegStream";
 
-    public synchronized void addStream(StreamOutput stream) {
+    public void addStream(StreamOutput stream) {
         openStreams.add(stream);
     }
 
-    public synchronized void removeStream(StreamOutput stream) {
-        openStreams.remove(stream);
+    /**
+     * @return true if the stream was open
+     */
+    public boolean removeStream(StreamOutput stream) {
+        return openStreams.remove(stream);
     }
 
-    public synchronized int getNumberOfStreams() {
+    public int getNumberOfStreams() {
         return openStreams.size();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return openStreams.isEmpty();
     }
 
@@ -52,13 +55,21 @@ public class OpenStreams {
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
+    public void queueFrame(byte[] frame) {
+        byte[] snapshotFrame = null;
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            if (stream.isSnapshotBased) {
+                if (snapshotFrame == null) {
+                    snapshotFrame = StreamOutput.createSnapshotFrame(frame);
+                }
+                stream.queueFrame(snapshotFrame);
+            } else {
+                stream.queueFrame(frame);
+            }
         }
     }
 
-    public synchronized void closeAllStreams() {
+    public void closeAllStreams() {
         for (StreamOutput stream : openStreams) {
             stream.close();
         }
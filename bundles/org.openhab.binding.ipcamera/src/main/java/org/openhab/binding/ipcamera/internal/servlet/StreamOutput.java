@@ -13,90 +13,169 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link StreamOutput} Streams mjpeg out to a client
+ * The {@link StreamOutput} Streams mjpeg out to a client. It uses Servlet async I/O, so no thread is blocked while a
+ * client is watching. Frames are not copied, the same byte[] is shared by all clients, and a client that can not keep
+ * up drops its oldest queued frames.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
-public class StreamOutput {
+public class StreamOutput implements WriteListener, AsyncListener {
+    public static final String SNAPSHOT_BOUNDARY = "thisMjpegStream";
+    // the chunks of a cameras own mjpeg stream are small, snapshot based frames are complete jpgs.
+    private static final int MAX_QUEUED_CHUNKS = 50;
+    private static final int MAX_QUEUED_SNAPSHOTS = 3;
+
     public final Logger logger = LoggerFactory.getLogger(getClass());
     private final HttpServletResponse response;
-    private final String boundary;
-    private String contentType;
+    private final AsyncContext asyncContext;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
+    private final Consumer<StreamOutput> closeListener;
+    private final Deque<byte[]> fifo = new ArrayDeque<>();
+    private String contentType;
     private boolean connected = false;
-    public boolean isSnapshotBased = false;
+    private boolean closed = false;
+    private boolean flushNeeded = false;
+    private long droppedFrames = 0;
+    public final boolean isSnapshotBased;
 
-    public StreamOutput(HttpServletResponse response) throws IOException {
-        boundary = "thisMjpegStream";
-        contentType = "multipart/x-mixed-replace; boundary=" + boundary;
-        this.response = response;
-        output = response.getOutputStream();
-        isSnapshotBased = true;
+    /**
+     * Creates a snapshot based stream, which is fed with frames from {@link #createSnapshotFrame(byte[])}.
+     */
+    public StreamOutput(HttpServletRequest request, HttpServletResponse response, Consumer<StreamOutput> closeListener)
+            throws IOException {
+        this(request, response, "multipart/x-mixed-replace; boundary=" + SNAPSHOT_BOUNDARY, true, closeListener);
     }
 
-    public StreamOutput(HttpServletResponse response, String contentType) throws IOException {
-        boundary = "";
-        this.contentType = contentType;
+    /**
+     * Creates a stream that passes the cameras own mjpeg stream through. If the Content-Type is not known yet, no
+     * frames are sent until {@link #updateContentType(String)} is called.
+     */
+    public StreamOutput(HttpServletRequest request, HttpServletResponse response, String contentType,
+            Consumer<StreamOutput> closeListener) throws IOException {
+        this(request, response, contentType, false, closeListener);
+    }
+
+    private StreamOutput(HttpServletRequest request, HttpServletResponse response, String contentType,
+            boolean isSnapshotBased, Consumer<StreamOutput> closeListener) throws IOException {
         this.response = response;
-        output = response.getOutputStream();
-        if (!contentType.isEmpty()) {
+        this.contentType = contentType;
+        this.isSnapshotBased = isSnapshotBased;
+        this.closeListener = closeListener;
+        if (!isSnapshotBased && !contentType.isEmpty()) {
             sendInitialHeaders();
             connected = true;
         }
+        asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(0);
+        asyncContext.addListener(this);
+        output = response.getOutputStream();
+        output.setWriteListener(this);
     }
 
-    public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
-        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
-        if (!connected) {
-            sendInitialHeaders();
-            // iOS needs to have two jpgs sent for the picture to appear instantly.
-            output.write(header.getBytes());
-            output.write(currentSnapshot);
-            output.write("\r\n".getBytes());
-            connected = true;
-        }
-        output.write(header.getBytes());
-        output.write(currentSnapshot);
-        output.write("\r\n".getBytes());
+    /**
+     * Adds the multipart boundary and headers to a jpg, so that it can be shared by all snapshot based streams.
+     */
+    public static byte[] createSnapshotFrame(byte[] jpg) {
+        byte[] header = ("--" + SNAPSHOT_BOUNDARY + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
+                + jpg.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = new byte[header.length + jpg.length + 2];
+        System.arraycopy(header, 0, frame, 0, header.length);
+        System.arraycopy(jpg, 0, frame, header.length, jpg.length);
+        frame[frame.length - 2] = '\r';
+        frame[frame.length - 1] = '\n';
+        return frame;
     }
 
+    /**
+     * Queues a frame and writes as much as the client can take without blocking. Snapshot based streams expect a frame
+     * created by {@link #createSnapshotFrame(byte[])}, other streams expect the raw data of the cameras stream.
+     */
     public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
+        synchronized (this) {
+            if (closed || (!isSnapshotBased && !connected)) {
+                return;
+            }
+            if (!connected) {
+                sendInitialHeaders();
+                // iOS needs to have two jpgs sent for the picture to appear instantly.
+                addToFifo(frame);
+                connected = true;
+            }
+            addToFifo(frame);
         }
+        writeFrames();
     }
 
-    public void updateContentType(String contentType) {
-        this.contentType = contentType;
-        if (!connected) {
-            sendInitialHeaders();
-            connected = true;
+    private void addToFifo(byte[] frame) {
+        if (fifo.size() >= (isSnapshotBased ? MAX_QUEUED_SNAPSHOTS : MAX_QUEUED_CHUNKS)) {
+            fifo.poll();
+            if (droppedFrames++ % 100 == 0) {
+                logger.debug("FIFO buffer has run out of space, {} frames dropped for this client so far.",
+                        droppedFrames);
+            }
         }
+        fifo.add(frame);
     }
 
-    public void sendFrame() throws IOException, InterruptedException {
-        if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+    /**
+     * Writes queued frames until the queue is empty or the client can not take any more data. In the latter case the
+     * container calls {@link #onWritePossible()} once the client is ready again.
+     */
+    private void writeFrames() {
+        boolean failed = false;
+        synchronized (this) {
+            try {
+                while (!closed && output.isReady()) {
+                    byte[] frame = fifo.poll();
+                    if (frame == null) {
+                        if (!flushNeeded) {
+                            break;
+                        }
+                        flushNeeded = false;
+                        output.flush();
+                    } else {
+                        output.write(frame);
+                        flushNeeded = true;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Occurs when browser stops the stream.
+                failed = true;
+            }
+        }
+        if (failed) {
+            close();
+        }
+    }
+
+    public void updateContentType(String contentType) {
+        synchronized (this) {
+            this.contentType = contentType;
+            if (connected || closed) {
+                return;
+            }
+            sendInitialHeaders();
+            connected = true;
         }
     }
 
@@ -106,10 +185,51 @@ public class StreamOutput {
         response.setHeader("Access-Control-Expose-Headers", "*");
     }
 
+    @Override
+    public void onWritePossible() {
+        writeFrames();
+    }
+
+    @Override
+    public void onError(@Nullable Throwable t) {
+        close();
+    }
+
+    @Override
+    public void onComplete(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onTimeout(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onError(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(@Nullable AsyncEvent event) {
+    }
+
+    /**
+     * Ends the stream and informs the listener. Safe to call more than once.
+     */
     public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            fifo.clear();
+        }
         try {
-            output.close();
-        } catch (IOException e) {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container
         }
+        closeListener.accept(this);
     }
 }
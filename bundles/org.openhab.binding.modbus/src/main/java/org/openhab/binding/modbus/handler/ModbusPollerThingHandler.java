@@ -22,6 +22,8 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer.Registration;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
@@ -33,7 +35,6 @@ import org.openhab.core.io.transport.modbus.ModbusReadCallback;
 import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
-import org.openhab.core.io.transport.modbus.PollTask;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
@@ -188,7 +189,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
 
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
-    private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable Registration pollTask;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -199,8 +200,19 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
 
     private @Nullable ModbusReadFunctionCode functionCode;
 
+    private final ModbusPollCoalescer pollCoalescer;
+
     public ModbusPollerThingHandler(Bridge bridge) {
+        this(bridge, new ModbusPollCoalescer());
+    }
+
+    /**
+     * @param pollCoalescer shared between the pollers of the binding, to merge polls of pollers reading adjacent
+     *            ranges from the same endpoint
+     */
+    public ModbusPollerThingHandler(Bridge bridge, ModbusPollCoalescer pollCoalescer) {
         super(bridge);
+        this.pollCoalescer = pollCoalescer;
     }
 
     @Override
@@ -307,10 +319,10 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         if (config == null) {
             return;
         }
-        PollTask localPollTask = this.pollTask;
+        Registration localPollTask = this.pollTask;
         if (localPollTask != null) {
             logger.debug("Unregistering polling from ModbusManager");
-            comms.unregisterRegularPoll(localPollTask);
+            pollCoalescer.unregister(localPollTask);
         }
         this.pollTask = null;
         request = null;
@@ -362,8 +374,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
         } else {
             logger.debug("Registering polling with ModbusManager");
-            pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
-                    callbackDelegator);
+            pollTask = pollCoalescer.register(localComms, localRequest, config.getRefresh(), callbackDelegator,
+                    callbackDelegator, config.isMergeReads());
             assert pollTask != null;
             updateStatus(ThingStatus.ONLINE);
         }
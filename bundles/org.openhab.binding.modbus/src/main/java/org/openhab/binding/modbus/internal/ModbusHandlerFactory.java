@@ -49,6 +49,8 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
 
     private @NonNullByDefault({}) ModbusManager manager;
 
+    private final ModbusPollCoalescer pollCoalescer = new ModbusPollCoalescer();
+
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = new HashSet<>();
     static {
         SUPPORTED_THING_TYPES_UIDS.add(THING_TYPE_MODBUS_TCP);
@@ -73,7 +75,7 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
             return new ModbusSerialThingHandler((Bridge) thing, manager);
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_POLLER)) {
             logger.debug("createHandler Modbus poller");
-            return new ModbusPollerThingHandler((Bridge) thing);
+            return new ModbusPollerThingHandler((Bridge) thing, pollCoalescer);
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_DATA)) {
             logger.debug("createHandler data");
             return new ModbusDataThingHandler(thing);
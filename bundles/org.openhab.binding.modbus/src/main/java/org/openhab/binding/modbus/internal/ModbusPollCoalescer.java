@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusPollCoalescer} merges the regular polls of pollers reading from the same endpoint.
+ *
+ * Mergeable polls using the same communication interface, unit id, function code and refresh interval are merged
+ * when their ranges overlap or are adjacent, as long as the merged read stays within the protocol limits. The merged response is
+ * sliced back to the range of each poller, so every poller receives a result for its own request.
+ *
+ * A poll that cannot be merged with any other poll is registered unchanged.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    /**
+     * Regular poll of a single poller
+     */
+    public static class Registration {
+        private final ModbusCommunicationInterface comms;
+        private final ModbusReadRequestBlueprint request;
+        private final long pollPeriodMillis;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private final boolean mergeable;
+
+        private Registration(ModbusCommunicationInterface comms, ModbusReadRequestBlueprint request,
+                long pollPeriodMillis, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback, boolean mergeable) {
+            this.comms = comms;
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+            this.mergeable = mergeable;
+        }
+
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        private int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+    }
+
+    /**
+     * Polls that could be merged with each other
+     */
+    private record GroupKey(ModbusCommunicationInterface comms, int unitId, ModbusReadFunctionCode functionCode,
+            long pollPeriodMillis) {
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            // communication interfaces are compared by identity, each endpoint thing has its own
+            return obj instanceof GroupKey other && comms == other.comms && unitId == other.unitId
+                    && functionCode == other.functionCode && pollPeriodMillis == other.pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(comms), unitId, functionCode, pollPeriodMillis);
+        }
+    }
+
+    /**
+     * Poll task registered with the communication interface, and the polls it serves
+     */
+    private record Block(List<Registration> members, PollTask pollTask) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollCoalescer.class);
+
+    private final Map<GroupKey, List<Registration>> registrations = new HashMap<>();
+    private final Map<GroupKey, List<Block>> blocks = new HashMap<>();
+
+    /**
+     * Register a regular poll
+     *
+     * @param mergeable whether the poll may be merged with other mergeable polls
+     * @return registration to be passed to {@link #unregister(Registration)}
+     */
+    public synchronized Registration register(ModbusCommunicationInterface comms, ModbusReadRequestBlueprint request,
+            long pollPeriodMillis, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback, boolean mergeable) {
+        Registration registration = new Registration(comms, request, pollPeriodMillis, resultCallback,
+                failureCallback, mergeable);
+        GroupKey key = keyOf(registration);
+        registrations.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        update(key);
+        return registration;
+    }
+
+    /**
+     * Unregister a regular poll
+     *
+     * No-op in case the poll is not registered.
+     */
+    public synchronized void unregister(Registration registration) {
+        GroupKey key = keyOf(registration);
+        List<Registration> group = registrations.get(key);
+        if (group == null || !group.remove(registration)) {
+            return;
+        }
+        if (group.isEmpty()) {
+            registrations.remove(key);
+        }
+        update(key);
+    }
+
+    private GroupKey keyOf(Registration registration) {
+        return new GroupKey(registration.comms, registration.request.getUnitID(),
+                registration.request.getFunctionCode(), registration.pollPeriodMillis);
+    }
+
+    /**
+     * Bring the poll tasks of the group in line with the current registrations. Poll tasks serving the same
+     * registrations as before are kept as they are.
+     */
+    private void update(GroupKey key) {
+        List<List<Registration>> plan = plan(registrations.getOrDefault(key, List.of()));
+        List<Block> oldBlocks = blocks.getOrDefault(key, List.of());
+        List<Block> newBlocks = new ArrayList<>(plan.size());
+        for (Block block : oldBlocks) {
+            if (plan.remove(block.members())) {
+                newBlocks.add(block);
+            } else {
+                key.comms().unregisterRegularPoll(block.pollTask());
+            }
+        }
+        for (List<Registration> members : plan) {
+            newBlocks.add(new Block(members, registerBlock(members)));
+        }
+        if (newBlocks.isEmpty()) {
+            blocks.remove(key);
+        } else {
+            blocks.put(key, newBlocks);
+        }
+    }
+
+    private PollTask registerBlock(List<Registration> members) {
+        Registration first = members.get(0);
+        if (members.size() == 1) {
+            return first.comms.registerRegularPoll(first.request, first.pollPeriodMillis, 0, first.resultCallback,
+                    first.failureCallback);
+        }
+        int start = first.request.getReference();
+        int end = members.stream().mapToInt(Registration::getEnd).max().getAsInt();
+        int maxTries = members.stream().mapToInt(member -> member.request.getMaxTries()).max().getAsInt();
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(first.request.getUnitID(),
+                first.request.getFunctionCode(), start, end - start, maxTries);
+        logger.debug("Merging {} polls into {}", members.size(), request);
+        return first.comms.registerRegularPoll(request, first.pollPeriodMillis, 0,
+                result -> members.forEach(member -> member.resultCallback.handle(slice(result, member.request))),
+                failure -> members.forEach(member -> member.failureCallback
+                        .handle(new AsyncModbusFailure<>(member.request, failure.getCause()))));
+    }
+
+    /**
+     * Split the registrations of a group into the minimal number of reads. Mergeable registrations are merged when
+     * their ranges overlap or are adjacent, never reading addresses that none of the registrations asked for.
+     *
+     * @param group registrations sharing the communication interface, unit id, function code and poll period
+     * @return registrations to serve with a single read, sorted by start address
+     */
+    static List<List<Registration>> plan(List<Registration> group) {
+        List<Registration> sorted = new ArrayList<>(group);
+        sorted.sort(Comparator.comparingInt((Registration registration) -> registration.request.getReference())
+                .thenComparingInt(registration -> registration.request.getDataLength()));
+        List<List<Registration>> plan = new ArrayList<>();
+        List<Registration> current = new ArrayList<>();
+        int currentStart = 0;
+        int currentEnd = 0;
+        for (Registration registration : sorted) {
+            if (!registration.mergeable) {
+                plan.add(List.of(registration));
+                continue;
+            }
+            int start = registration.request.getReference();
+            int end = Math.max(currentEnd, registration.getEnd());
+            if (current.isEmpty() || start > currentEnd
+                    || end - currentStart > maxReadCount(registration.request.getFunctionCode())) {
+                current = new ArrayList<>();
+                plan.add(current);
+                currentStart = start;
+                end = registration.getEnd();
+            }
+            current.add(registration);
+            currentEnd = end;
+        }
+        return plan;
+    }
+
+    private static int maxReadCount(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    /**
+     * Extract the data of a single request from the result of a merged request
+     */
+    static AsyncModbusReadResult slice(AsyncModbusReadResult result, ModbusReadRequestBlueprint request) {
+        int offset = request.getReference() - result.getRequest().getReference();
+        int length = request.getDataLength();
+        @Nullable
+        BitArray bits = result.getBits().orElse(null);
+        if (bits != null) {
+            boolean[] slice = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                slice[i] = bits.getBit(offset + i);
+            }
+            return new AsyncModbusReadResult(request, new BitArray(slice));
+        }
+        ModbusRegisterArray registers = result.getRegisters().orElseThrow();
+        int[] slice = new int[length];
+        for (int i = 0; i < length; i++) {
+            slice[i] = registers.getRegister(offset + i);
+        }
+        return new AsyncModbusReadResult(request, new ModbusRegisterArray(slice));
+    }
+}
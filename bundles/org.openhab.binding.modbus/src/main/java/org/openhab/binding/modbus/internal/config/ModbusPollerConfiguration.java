@@ -29,6 +29,7 @@ public class ModbusPollerConfiguration {
     private @Nullable String type;
     private int maxTries = 3;// backwards compatibility and tests
     private long cacheMillis = 50L;
+    private boolean mergeReads;
 
     /**
      * Gets refresh period in milliseconds
@@ -115,4 +116,18 @@ public class ModbusPollerConfiguration {
     public void setCacheMillis(long cacheMillis) {
         this.cacheMillis = cacheMillis;
     }
+
+    /**
+     * Gets whether the regular poll may be merged with regular polls of other pollers reading adjacent data
+     */
+    public boolean isMergeReads() {
+        return mergeReads;
+    }
+
+    /**
+     * Sets whether the regular poll may be merged with regular polls of other pollers reading adjacent data
+     */
+    public void setMergeReads(boolean mergeReads) {
+        this.mergeReads = mergeReads;
+    }
 }
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescerTest {
+
+    private final ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+    private final ModbusPollCoalescer coalescer = new ModbusPollCoalescer();
+
+    private final List<AsyncModbusReadResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+    private static ModbusReadRequestBlueprint request(int start, int length) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, 3);
+    }
+
+    private ModbusPollCoalescer.Registration register(ModbusReadRequestBlueprint request, long pollPeriodMillis) {
+        return coalescer.register(comms, request, pollPeriodMillis, results::add, failures::add, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> failureCaptor() {
+        return ArgumentCaptor.forClass(ModbusFailureCallback.class);
+    }
+
+    @Test
+    public void testSinglePollIsRegisteredUnchanged() {
+        ModbusReadRequestBlueprint request = request(0, 5);
+        register(request, 1000);
+
+        verify(comms).registerRegularPoll(same(request), eq(1000L), eq(0L), notNull(), notNull());
+    }
+
+    @Test
+    public void testAdjacentPollsAreMergedAndSliced() {
+        ModbusReadRequestBlueprint first = request(0, 2);
+        ModbusReadRequestBlueprint second = request(2, 3);
+        PollTask firstTask = mock(PollTask.class);
+        when(comms.registerRegularPoll(same(first), anyLong(), anyLong(), any(), any())).thenReturn(firstTask);
+        register(first, 1000);
+        register(second, 1000);
+
+        verify(comms).unregisterRegularPoll(firstTask);
+        ArgumentCaptor<ModbusReadRequestBlueprint> merged = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> resultCallback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> failureCallback = failureCaptor();
+        verify(comms).registerRegularPoll(merged.capture(), eq(1000L), eq(0L), resultCallback.capture(),
+                failureCallback.capture());
+        assertThat(merged.getValue().getReference(), is(equalTo(0)));
+        assertThat(merged.getValue().getDataLength(), is(equalTo(5)));
+
+        resultCallback.getValue()
+                .handle(new AsyncModbusReadResult(merged.getValue(), new ModbusRegisterArray(10, 11, 12, 13, 14)));
+        assertThat(results.size(), is(equalTo(2)));
+        assertThat(results.get(0).getRequest(), is(sameInstance(first)));
+        assertThat(results.get(0).getRegisters().get(), is(equalTo(new ModbusRegisterArray(10, 11))));
+        assertThat(results.get(1).getRequest(), is(sameInstance(second)));
+        assertThat(results.get(1).getRegisters().get(), is(equalTo(new ModbusRegisterArray(12, 13, 14))));
+
+        Exception cause = new Exception("timeout");
+        failureCallback.getValue().handle(new AsyncModbusFailure<>(merged.getValue(), cause));
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(failures.get(0).getRequest(), is(sameInstance(first)));
+        assertThat(failures.get(1).getRequest(), is(sameInstance(second)));
+        assertThat(failures.get(1).getCause(), is(sameInstance(cause)));
+    }
+
+    @Test
+    public void testPollsWithGapOrDifferentPeriodAreNotMerged() {
+        ModbusReadRequestBlueprint first = request(0, 2);
+        ModbusReadRequestBlueprint gap = request(3, 2);
+        ModbusReadRequestBlueprint otherPeriod = request(2, 1);
+        register(first, 1000);
+        register(gap, 1000);
+        register(otherPeriod, 500);
+
+        verify(comms).registerRegularPoll(same(first), eq(1000L), eq(0L), any(), any());
+        verify(comms).registerRegularPoll(same(gap), eq(1000L), eq(0L), any(), any());
+        verify(comms).registerRegularPoll(same(otherPeriod), eq(500L), eq(0L), any(), any());
+        verify(comms, never()).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testPollsNotMergeableAreNotMerged() {
+        ModbusReadRequestBlueprint first = request(0, 2);
+        ModbusReadRequestBlueprint second = request(2, 2);
+        ModbusReadRequestBlueprint third = request(4, 2);
+        register(first, 1000);
+        coalescer.register(comms, second, 1000, results::add, failures::add, false);
+        register(third, 1000);
+
+        verify(comms).registerRegularPoll(same(first), eq(1000L), eq(0L), any(), any());
+        verify(comms).registerRegularPoll(same(second), eq(1000L), eq(0L), any(), any());
+        verify(comms).registerRegularPoll(same(third), eq(1000L), eq(0L), any(), any());
+        verify(comms, never()).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testMergedReadStaysWithinProtocolLimits() {
+        register(request(0, 100), 1000);
+        register(request(100, 25), 1000);
+        register(request(120, 10), 1000);
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> requests = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, times(3)).registerRegularPoll(requests.capture(), anyLong(), anyLong(), any(), any());
+        // 0..124 is read with a single request, 120..129 would exceed the maximum of 125 registers
+        ModbusReadRequestBlueprint merged = requests.getAllValues().get(1);
+        assertThat(merged.getReference(), is(equalTo(0)));
+        assertThat(merged.getDataLength(), is(equalTo(125)));
+        ModbusReadRequestBlueprint last = requests.getAllValues().get(2);
+        assertThat(last.getReference(), is(equalTo(120)));
+        assertThat(last.getDataLength(), is(equalTo(10)));
+    }
+
+    @Test
+    public void testRemainingPollIsRegisteredUnchangedAfterUnregister() {
+        ModbusReadRequestBlueprint first = request(0, 2);
+        ModbusReadRequestBlueprint second = request(1, 3);
+        PollTask mergedTask = mock(PollTask.class);
+        when(comms.registerRegularPoll(argThat(request -> request.getDataLength() == 4), anyLong(), anyLong(), any(),
+                any())).thenReturn(mergedTask);
+        ModbusPollCoalescer.Registration firstRegistration = register(first, 1000);
+        register(second, 1000);
+
+        coalescer.unregister(firstRegistration);
+
+        verify(comms).unregisterRegularPoll(mergedTask);
+        verify(comms).registerRegularPoll(same(second), eq(1000L), eq(0L), any(), any());
+    }
+}
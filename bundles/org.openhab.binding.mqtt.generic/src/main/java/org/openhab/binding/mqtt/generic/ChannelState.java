@@ -160,6 +160,18 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     @Override
     public void processMessage(String topic, byte[] payload) {
+        processMessage(topic, payload, null);
+    }
+
+    /**
+     * Incoming message, of which the text may already have been decoded by the caller. This allows subscribers that
+     * share a topic to decode the payload only once.
+     *
+     * @param topic The topic. Is the same as the field stateTopic.
+     * @param payload The byte payload. Must be UTF8 encoded text or binary data.
+     * @param text The payload decoded as UTF8 text, or null if it has not been decoded yet.
+     */
+    public void processMessage(String topic, byte[] payload, @Nullable String text) {
         final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
         if (channelStateUpdateListener == null) {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
@@ -174,7 +186,7 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        String strValue = text != null ? text : new String(payload, StandardCharsets.UTF_8);
         for (ChannelStateTransformation t : transformationsIn) {
             String transformedValue = t.processValue(strValue);
             if (transformedValue != null) {
@@ -270,7 +282,7 @@ public class ChannelState implements MqttMessageSubscriber {
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
         if (connection != null && !config.stateTopic.isBlank()) {
-            return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+            return unsubscribe(connection).thenRun(this::internalStop);
         } else {
             internalStop();
             return CompletableFuture.completedFuture(null);
@@ -330,7 +342,7 @@ public class ChannelState implements MqttMessageSubscriber {
 
             this.future = new CompletableFuture<>();
         }
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        subscribe(connection).thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -342,6 +354,26 @@ public class ChannelState implements MqttMessageSubscriber {
         return future;
     }
 
+    /**
+     * Subscribes this channel state to the state topic.
+     *
+     * @param connection A broker connection
+     * @return A future that completes with true if subscribing succeeded.
+     */
+    protected CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection) {
+        return connection.subscribe(config.stateTopic, this);
+    }
+
+    /**
+     * Removes the subscription of this channel state to the state topic.
+     *
+     * @param connection A broker connection
+     * @return A future that completes with true if unsubscribing succeeded.
+     */
+    protected CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection) {
+        return connection.unsubscribe(config.stateTopic, this);
+    }
+
     /**
      * Return true if this channel has subscribed to its MQTT topics.
      * You need to call {@link #start(MqttBrokerConnection, ScheduledExecutorService, int)} and
@@ -104,6 +104,15 @@ public class ComponentChannel {
         return channelState.start(connection, scheduler, timeout);
     }
 
+    /**
+     * Sets the dispatcher used to subscribe to the state topic. Takes effect on the next start.
+     */
+    public void setDispatcher(@Nullable StateTopicDispatcher dispatcher) {
+        if (channelState instanceof HomeAssistantChannelState homeAssistantChannelState) {
+            homeAssistantChannelState.setDispatcher(dispatcher);
+        }
+    }
+
     public void addChannelTypes(MqttChannelTypeProvider channelTypeProvider) {
         channelTypeProvider.setChannelType(channelTypeUID, type);
     }
@@ -21,6 +21,7 @@ import org.openhab.binding.mqtt.generic.ChannelConfig;
 import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.types.Command;
 import org.slf4j.Logger;
@@ -35,6 +36,8 @@ import org.slf4j.LoggerFactory;
 public class HomeAssistantChannelState extends ChannelState {
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantChannelState.class);
     private final @Nullable Predicate<Command> commandFilter;
+    private @Nullable StateTopicDispatcher dispatcher;
+    private boolean dispatched;
 
     /**
      * Creates a new channel state.
@@ -54,6 +57,41 @@ public class HomeAssistantChannelState extends ChannelState {
         this.commandFilter = commandFilter;
     }
 
+    /**
+     * Sets the dispatcher used to subscribe to the state topic. Takes effect on the next start.
+     *
+     * @param dispatcher A dispatcher shared by the channel states of a thing, or null to subscribe directly
+     */
+    public void setDispatcher(@Nullable StateTopicDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * @return The number of transformations applied to each incoming value.
+     */
+    public int getTransformationCount() {
+        return transformationsIn.size();
+    }
+
+    @Override
+    protected CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection) {
+        StateTopicDispatcher dispatcher = this.dispatcher;
+        dispatched = dispatcher != null && StateTopicDispatcher.canDispatch(config.stateTopic);
+        if (dispatcher != null && dispatched) {
+            return dispatcher.subscribe(connection, config.stateTopic, this);
+        }
+        return super.subscribe(connection);
+    }
+
+    @Override
+    protected CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection) {
+        StateTopicDispatcher dispatcher = this.dispatcher;
+        if (dispatcher != null && dispatched) {
+            return dispatcher.unsubscribe(connection, config.stateTopic, this);
+        }
+        return super.unsubscribe(connection);
+    }
+
     @Override
     public CompletableFuture<Boolean> publishValue(Command command) {
         if (commandFilter != null) {
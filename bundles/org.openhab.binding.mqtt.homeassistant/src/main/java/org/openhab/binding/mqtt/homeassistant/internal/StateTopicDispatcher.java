@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Components of one device usually share a single JSON state topic. The {@link StateTopicDispatcher} subscribes to
+ * each state topic only once, decodes every message once and passes the same text to all channel states of the topic.
+ * Together with the parsed value being reused by the JINJA transformation, each message is parsed only once no matter
+ * how many templates are applied to it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StateTopicDispatcher implements MqttMessageSubscriber {
+    private final Map<String, Subscription> subscriptions = new HashMap<>();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong templates = new AtomicLong();
+
+    private static class Subscription {
+        final List<HomeAssistantChannelState> channelStates = new CopyOnWriteArrayList<>();
+        final MqttBrokerConnection connection;
+        final CompletableFuture<Boolean> future;
+
+        Subscription(MqttBrokerConnection connection, CompletableFuture<Boolean> future) {
+            this.connection = connection;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Checks whether messages of the topic can be dispatched. Topics with wildcards are not supported, because the
+     * topic of a message would not identify the subscription.
+     */
+    public static boolean canDispatch(String topic) {
+        return !topic.isBlank() && topic.indexOf('+') < 0 && topic.indexOf('#') < 0;
+    }
+
+    /**
+     * Adds a channel state to the subscribers of the topic. The topic is subscribed on the connection when the first
+     * channel state is added.
+     *
+     * @return A future that completes when the topic has been subscribed.
+     */
+    public CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection, String topic,
+            HomeAssistantChannelState channelState) {
+        synchronized (subscriptions) {
+            Subscription subscription = subscriptions.get(topic);
+            if (subscription == null || !subscription.connection.equals(connection)
+                    || subscription.future.isCompletedExceptionally()) {
+                subscription = new Subscription(connection, connection.subscribe(topic, this));
+                subscriptions.put(topic, subscription);
+            }
+            if (!subscription.channelStates.contains(channelState)) {
+                subscription.channelStates.add(channelState);
+            }
+            return subscription.future;
+        }
+    }
+
+    /**
+     * Removes a channel state from the subscribers of the topic. The topic is unsubscribed when the last channel state
+     * has been removed.
+     *
+     * @return A future that completes when the topic has been unsubscribed, or immediately if other channel states are
+     *         still subscribed.
+     */
+    public CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection, String topic,
+            HomeAssistantChannelState channelState) {
+        synchronized (subscriptions) {
+            Subscription subscription = subscriptions.get(topic);
+            if (subscription == null || !subscription.connection.equals(connection)) {
+                return CompletableFuture.completedFuture(true);
+            }
+            subscription.channelStates.remove(channelState);
+            if (!subscription.channelStates.isEmpty()) {
+                return CompletableFuture.completedFuture(true);
+            }
+            subscriptions.remove(topic);
+        }
+        return connection.unsubscribe(topic, this);
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        Subscription subscription;
+        synchronized (subscriptions) {
+            subscription = subscriptions.get(topic);
+        }
+        if (subscription == null) {
+            return;
+        }
+        messages.incrementAndGet();
+        @Nullable
+        String text = null;
+        for (HomeAssistantChannelState channelState : subscription.channelStates) {
+            if (text == null && !channelState.getCache().isBinary()) {
+                text = new String(payload, StandardCharsets.UTF_8);
+            }
+            templates.addAndGet(channelState.getTransformationCount());
+            channelState.processMessage(topic, payload, text);
+        }
+    }
+
+    /**
+     * @return The number of messages received on all dispatched topics.
+     */
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    /**
+     * @return The number of templates applied to these messages.
+     */
+    public long getTemplateCount() {
+        return templates.get();
+    }
+
+    /**
+     * @return The number of topics currently subscribed.
+     */
+    public int getTopicCount() {
+        synchronized (subscriptions) {
+            return subscriptions.size();
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConstants;
 import org.openhab.binding.mqtt.homeassistant.internal.ComponentChannel;
 import org.openhab.binding.mqtt.homeassistant.internal.HaID;
+import org.openhab.binding.mqtt.homeassistant.internal.StateTopicDispatcher;
 import org.openhab.binding.mqtt.homeassistant.internal.component.ComponentFactory.ComponentConfiguration;
 import org.openhab.binding.mqtt.homeassistant.internal.config.dto.AbstractChannelConfiguration;
 import org.openhab.binding.mqtt.homeassistant.internal.config.dto.Availability;
@@ -163,6 +164,15 @@ public abstract class AbstractComponent<C extends AbstractChannelConfiguration>
                 .reduce(CompletableFuture.completedFuture(null), (f, v) -> f.thenCompose(b -> v));
     }
 
+    /**
+     * Sets the dispatcher used by all state channels of the component to subscribe to their state topics.
+     *
+     * @param dispatcher A dispatcher shared by the components of a thing
+     */
+    public void setDispatcher(StateTopicDispatcher dispatcher) {
+        Stream.concat(channels.values().stream(), hiddenChannels.stream()).forEach(c -> c.setDispatcher(dispatcher));
+    }
+
     /**
      * Unsubscribes from all state channels of the component.
      *
@@ -40,6 +40,7 @@ import org.openhab.binding.mqtt.homeassistant.internal.DiscoverComponents;
 import org.openhab.binding.mqtt.homeassistant.internal.DiscoverComponents.ComponentDiscovered;
 import org.openhab.binding.mqtt.homeassistant.internal.HaID;
 import org.openhab.binding.mqtt.homeassistant.internal.HandlerConfiguration;
+import org.openhab.binding.mqtt.homeassistant.internal.StateTopicDispatcher;
 import org.openhab.binding.mqtt.homeassistant.internal.component.AbstractComponent;
 import org.openhab.binding.mqtt.homeassistant.internal.component.ComponentFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.component.Update;
@@ -104,6 +105,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
     private Set<HaID> discoveryHomeAssistantIDs = new HashSet<>();
 
     protected final TransformationServiceProvider transformationServiceProvider;
+    protected final StateTopicDispatcher stateTopicDispatcher = new StateTopicDispatcher();
 
     private boolean started;
     private @Nullable Update updateComponent;
@@ -205,7 +207,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         // Start all known components and channels within the components and put the Thing offline
         // if any subscribing failed ( == broker connection lost)
         CompletableFuture<@Nullable Void> future = CompletableFuture.allOf(super.start(connection),
-                haComponents.values().stream().map(e -> e.start(connection, scheduler, attributeReceiveTimeout))
+                haComponents.values().stream().map(e -> startComponent(e, connection, attributeReceiveTimeout))
                         .reduce(CompletableFuture.completedFuture(null), (a, v) -> a.thenCompose(b -> v)) // reduce to
                                                                                                           // one
                         .exceptionally(e -> {
@@ -228,10 +230,21 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     .collect(FutureCollector.allOf()).join();
 
             started = false;
+            logger.debug("Dispatched {} messages and applied {} templates for {}",
+                    stateTopicDispatcher.getMessageCount(), stateTopicDispatcher.getTemplateCount(), thing.getUID());
         }
         super.stop();
     }
 
+    /**
+     * Starts a component, with all channels sharing the subscriptions of their state topics.
+     */
+    private CompletableFuture<@Nullable Void> startComponent(AbstractComponent<?> component,
+            MqttBrokerConnection connection, int timeout) {
+        component.setDispatcher(stateTopicDispatcher);
+        return component.start(connection, scheduler, timeout);
+    }
+
     @Override
     public @Nullable ChannelState getChannelState(ChannelUID channelUID) {
         String groupID = channelUID.getGroupId();
@@ -293,7 +306,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 // Add component to the component map
                 haComponents.put(id, discovered);
                 // Start component / Subscribe to channel topics
-                discovered.start(connection, scheduler, 0).exceptionally(e -> {
+                startComponent(discovered, connection, 0).exceptionally(e -> {
                     logger.warn("Failed to start component {}", discovered.getHaID(), e);
                     return null;
                 });
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
+import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
+import org.openhab.binding.mqtt.generic.values.TextValue;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.thing.ChannelUID;
+
+/**
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class StateTopicDispatcherTests {
+    private static final String STATE_TOPIC = "zigbee2mqtt/device";
+
+    private @Mock @NonNullByDefault({}) MqttBrokerConnection connection;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ChannelStateUpdateListener listener;
+
+    private final StateTopicDispatcher dispatcher = new StateTopicDispatcher();
+
+    @BeforeEach
+    public void setup() {
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+    }
+
+    private HomeAssistantChannelState createChannelState(String topic, String id) {
+        HomeAssistantChannelState channelState = new HomeAssistantChannelState(
+                ChannelConfigBuilder.create().withStateTopic(topic).build(),
+                new ChannelUID("mqtt:homeassistant:thing:group#" + id), new TextValue(), listener, null);
+        channelState.setDispatcher(dispatcher);
+        return channelState;
+    }
+
+    @Test
+    public void testSharedStateTopicIsSubscribedOnce() {
+        HomeAssistantChannelState first = createChannelState(STATE_TOPIC, "first");
+        HomeAssistantChannelState second = createChannelState(STATE_TOPIC, "second");
+
+        first.start(connection, scheduler, 0);
+        second.start(connection, scheduler, 0);
+
+        verify(connection, times(1)).subscribe(eq(STATE_TOPIC), eq(dispatcher));
+        verify(connection, never()).subscribe(any(), eq(first));
+        assertThat(dispatcher.getTopicCount(), is(1));
+
+        dispatcher.processMessage(STATE_TOPIC, "ON".getBytes(StandardCharsets.UTF_8));
+
+        verify(listener).updateChannelState(eq(first.channelUID()), eq(new StringType("ON")));
+        verify(listener).updateChannelState(eq(second.channelUID()), eq(new StringType("ON")));
+        assertThat(dispatcher.getMessageCount(), is(1L));
+
+        first.stop();
+        verify(connection, never()).unsubscribe(any(), any());
+        second.stop();
+        verify(connection, times(1)).unsubscribe(eq(STATE_TOPIC), eq(dispatcher));
+        assertThat(dispatcher.getTopicCount(), is(0));
+    }
+
+    @Test
+    public void testWildcardTopicIsSubscribedDirectly() {
+        HomeAssistantChannelState channelState = createChannelState("zigbee2mqtt/+/state", "wildcard");
+
+        channelState.start(connection, scheduler, 0);
+        channelState.stop();
+
+        verify(connection).subscribe(eq("zigbee2mqtt/+/state"), eq(channelState));
+        verify(connection).unsubscribe(eq("zigbee2mqtt/+/state"), eq(channelState));
+        assertThat(dispatcher.getTopicCount(), is(0));
+    }
+}
@@ -42,6 +42,8 @@ import org.slf4j.LoggerFactory;
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.network")
 public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    // Performs the presence detection of all ping and service devices together
+    private final PresenceDetectionEngine presenceDetectionEngine = new PresenceDetectionEngine();
 
     private final Logger logger = LoggerFactory.getLogger(NetworkHandlerFactory.class);
 
@@ -60,6 +62,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @Override
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
+        presenceDetectionEngine.dispose();
         super.deactivate(componentContext);
     }
 
@@ -78,9 +81,9 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
 
         if (thingTypeUID.equals(NetworkBindingConstants.PING_DEVICE)
                 || thingTypeUID.equals(NetworkBindingConstants.BACKWARDS_COMPATIBLE_DEVICE)) {
-            return new NetworkHandler(thing, false, configuration);
+            return new NetworkHandler(thing, false, configuration, presenceDetectionEngine);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SERVICE_DEVICE)) {
-            return new NetworkHandler(thing, true, configuration);
+            return new NetworkHandler(thing, true, configuration, presenceDetectionEngine);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SPEEDTEST_DEVICE)) {
             return new SpeedTestHandler(thing);
         }
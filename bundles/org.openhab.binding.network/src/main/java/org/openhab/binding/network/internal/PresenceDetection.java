@@ -93,6 +93,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     private Set<String> networkInterfaceNames = Set.of();
     private @Nullable ScheduledFuture<?> refreshJob;
+    private @Nullable PresenceDetectionEngine engine;
+    private boolean registeredWithEngine;
     protected @Nullable ExecutorService detectionExecutorService;
     protected @Nullable ExecutorService waitForResultExecutorService;
     private String dhcpState = "off";
@@ -174,6 +176,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.timeout = timeout;
     }
 
+    /**
+     * Sets the binding wide {@link PresenceDetectionEngine}. If set, the presence detection and the automatic refresh
+     * are performed by the engine together with all other devices, instead of by threads of this object.
+     */
+    public void setPresenceDetectionEngine(@Nullable PresenceDetectionEngine engine) {
+        this.engine = engine;
+    }
+
     public void setPreferResponseTimeAsLatency(boolean preferResponseTimeAsLatency) {
         this.preferResponseTimeAsLatency = preferResponseTimeAsLatency;
     }
@@ -228,6 +238,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.arpPingMethod = arpPingUtilMethod;
     }
 
+    ArpPingUtilEnum getArpPingMethod() {
+        return arpPingMethod;
+    }
+
     public String getArpPingState() {
         return arpPingMethod.description;
     }
@@ -269,7 +283,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * The value is only updated if the cached value has not expired.
      */
     public PresenceDetectionValue getValue() throws InterruptedException, ExecutionException {
-        return cache.getValue(this::performPresenceDetection).get();
+        return cache.getValue(this::detect).get();
     }
 
     /**
@@ -282,13 +296,45 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *            discovery took place.
      */
     public void getValue(Consumer<PresenceDetectionValue> callback) {
-        cache.getValue(this::performPresenceDetection).thenAccept(callback);
+        cache.getValue(this::detect).thenAccept(callback);
+    }
+
+    /**
+     * Requests a new presence detection value if the cached value has expired, without waiting for the result.
+     */
+    void refresh() {
+        cache.getValue(this::detect);
+    }
+
+    private CompletableFuture<PresenceDetectionValue> detect() {
+        PresenceDetectionEngine engine = this.engine;
+        return engine != null ? engine.requestDetection(this) : performPresenceDetection();
     }
 
     public ExecutorService getThreadsFor(int threadCount) {
         return Executors.newFixedThreadPool(threadCount);
     }
 
+    /**
+     * Return the resolved destination address or <code>null</code> if the hostname cannot be resolved.
+     */
+    @Nullable InetAddress getDestinationAddress() {
+        return destination.getValue();
+    }
+
+    /**
+     * Return the names of the network interfaces on which ARP pings are performed.
+     */
+    Set<String> getArpPingInterfaceNames() {
+        if (!lastReachableNetworkInterfaceName.isEmpty()) {
+            return Set.of(lastReachableNetworkInterfaceName);
+        } else if (!networkInterfaceNames.isEmpty()) {
+            return networkInterfaceNames;
+        } else {
+            return networkUtils.getInterfaceNames();
+        }
+    }
+
     private void withDestinationAddress(Consumer<InetAddress> consumer) {
         InetAddress destinationAddress = destination.getValue();
         if (destinationAddress == null) {
@@ -333,13 +379,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             detectionChecks += 1;
         }
         if (arpPingMethod.canProceed) {
-            if (!lastReachableNetworkInterfaceName.isEmpty()) {
-                interfaceNames = Set.of(lastReachableNetworkInterfaceName);
-            } else if (!networkInterfaceNames.isEmpty()) {
-                interfaceNames = networkInterfaceNames;
-            } else {
-                interfaceNames = networkUtils.getInterfaceNames();
-            }
+            interfaceNames = getArpPingInterfaceNames();
             detectionChecks += interfaceNames.size();
         }
 
@@ -408,13 +448,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             });
             logger.debug("All {} detection futures for {} have completed", completableFutures.size(), hostname);
 
-            if (!pdv.isReachable()) {
-                logger.debug("{} is unreachable, invalidating destination value", hostname);
-                destination.invalidateValue();
-            }
-
-            logger.debug("Sending listener final result: {}", pdv);
-            updateListener.finalDetectionResult(pdv);
+            finishDetection(pdv);
 
             detectionExecutorService.shutdownNow();
             this.detectionExecutorService = null;
@@ -424,6 +458,21 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }, waitForResultExecutorService);
     }
 
+    /**
+     * Sends the final result of a presence detection to the {@link #updateListener}.
+     *
+     * @param pdv the {@link PresenceDetectionValue} with the results of all detection checks
+     */
+    void finishDetection(PresenceDetectionValue pdv) {
+        if (!pdv.isReachable()) {
+            logger.debug("{} is unreachable, invalidating destination value", hostname);
+            destination.invalidateValue();
+        }
+
+        logger.debug("Sending listener final result: {}", pdv);
+        updateListener.finalDetectionResult(pdv);
+    }
+
     private void addAsyncDetection(List<CompletableFuture<Void>> completableFutures, Runnable detectionRunnable,
             ExecutorService executorService) {
         completableFutures.add(CompletableFuture.runAsync(detectionRunnable, executorService)
@@ -561,7 +610,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         });
     }
 
-    private Duration getLatency(PingResult pingResult) {
+    Duration getLatency(PingResult pingResult) {
         logger.trace("Getting latency from ping result {} using latency mode {}", pingResult,
                 preferResponseTimeAsLatency);
         Duration executionTime = pingResult.getExecutionTime();
@@ -575,9 +624,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * Start/Restart a fixed scheduled runner to update the devices reach-ability state.
+     * Start/Restart a fixed scheduled runner to update the devices reach-ability state. If a
+     * {@link PresenceDetectionEngine} is set, the device is registered with the engine instead.
      */
     public void startAutomaticRefresh() {
+        PresenceDetectionEngine engine = this.engine;
+        if (engine != null) {
+            engine.register(this);
+            registeredWithEngine = true;
+            return;
+        }
         ScheduledFuture<?> future = refreshJob;
         if (future != null && !future.isDone()) {
             future.cancel(true);
@@ -596,13 +652,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * Return <code>true</code> if automatic refreshing is enabled.
      */
     public boolean isAutomaticRefreshing() {
-        return refreshJob != null;
+        return refreshJob != null || registeredWithEngine;
     }
 
     /**
      * Stop automatic refreshing.
      */
     public void stopAutomaticRefresh() {
+        PresenceDetectionEngine engine = this.engine;
+        if (engine != null && registeredWithEngine) {
+            engine.unregister(this);
+            registeredWithEngine = false;
+        }
         ScheduledFuture<?> future = refreshJob;
         if (future != null && !future.isDone()) {
             future.cancel(true);
@@ -0,0 +1,396 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.openhab.binding.network.internal.PresenceDetectionType.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.TcpConnectScanner;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceDetectionEngine} performs the presence detection of all network things of the binding.
+ * <p>
+ * Once per cycle, all devices which are due for a refresh and whose cached value has expired are probed together:
+ * <ul>
+ * <li>The TCP connects of all devices with the same timeout are handled by a single {@link TcpConnectScanner}.
+ * <li>All devices using the system ping are pinged by a single fping process, if fping is available.
+ * <li>ARP pings are only performed for devices which could not be reached otherwise.
+ * </ul>
+ * The cycle itself runs on a thread of the engine and only starts the checks on the shared "network" thread pool.
+ * The detection of a device is finished as soon as it has been reached, or once all of its checks have failed, so
+ * slow or unreachable devices do not delay the results of the other devices.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceDetectionEngine {
+
+    private static final Duration CYCLE_INTERVAL = Duration.ofSeconds(1);
+    private static final String PROBE_POOL_NAME = "network";
+    private static final int MAXIMUM_PENDING_CONNECTS = 256;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceDetectionEngine.class);
+
+    NetworkUtils networkUtils = new NetworkUtils();
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService probeExecutor = ThreadPoolManager.getPool(PROBE_POOL_NAME);
+    private final Map<PresenceDetection, Instant> registeredDetections = new ConcurrentHashMap<>();
+    private final Map<PresenceDetection, CompletableFuture<PresenceDetectionValue>> pending = new ConcurrentHashMap<>();
+    private final Set<PresenceDetection> running = ConcurrentHashMap.newKeySet();
+    private @Nullable ScheduledFuture<?> cycleJob;
+    private @Nullable Boolean batchPingAvailable;
+
+    public PresenceDetectionEngine() {
+        this(Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("network-presence-cycle")));
+    }
+
+    PresenceDetectionEngine(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Registers a device for the automatic refresh in its refresh interval.
+     */
+    public void register(PresenceDetection detection) {
+        registeredDetections.put(detection, Instant.now());
+        startCycleJob();
+    }
+
+    public void unregister(PresenceDetection detection) {
+        registeredDetections.remove(detection);
+    }
+
+    /**
+     * Requests a presence detection of the given device in the next cycle.
+     *
+     * @return a {@link CompletableFuture} for obtaining the {@link PresenceDetectionValue}
+     */
+    public CompletableFuture<PresenceDetectionValue> requestDetection(PresenceDetection detection) {
+        CompletableFuture<PresenceDetectionValue> future = pending.computeIfAbsent(detection,
+                d -> new CompletableFuture<>());
+        startCycleJob();
+        return future;
+    }
+
+    /**
+     * Stops the engine. Pending requests are cancelled and the results of running checks are discarded.
+     */
+    public synchronized void dispose() {
+        ScheduledFuture<?> job = cycleJob;
+        if (job != null) {
+            job.cancel(true);
+            cycleJob = null;
+        }
+        scheduler.shutdownNow();
+        registeredDetections.clear();
+        pending.values().forEach(future -> future.cancel(true));
+        pending.clear();
+        running.clear();
+    }
+
+    private synchronized void startCycleJob() {
+        ScheduledFuture<?> job = cycleJob;
+        if ((job == null || job.isDone()) && !scheduler.isShutdown()) {
+            cycleJob = scheduler.scheduleWithFixedDelay(this::runCycle, 0, CYCLE_INTERVAL.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopCycleJobIfIdle() {
+        ScheduledFuture<?> job = cycleJob;
+        if (job != null && registeredDetections.isEmpty() && pending.isEmpty() && running.isEmpty()) {
+            job.cancel(false);
+            cycleJob = null;
+        }
+    }
+
+    /**
+     * Refreshes all registered devices which are due and starts the checks of all requested devices together.
+     */
+    void runCycle() {
+        Instant now = Instant.now();
+        registeredDetections.replaceAll((detection, nextRefresh) -> {
+            if (now.isBefore(nextRefresh)) {
+                return nextRefresh;
+            }
+            // a new detection is only requested if the cached value has expired
+            detection.refresh();
+            return now.plus(detection.getRefreshInterval());
+        });
+
+        // devices whose detection of a previous cycle is still running are probed in a later cycle
+        List<Probe> probes = new ArrayList<>();
+        for (PresenceDetection detection : pending.keySet()) {
+            if (running.contains(detection)) {
+                continue;
+            }
+            CompletableFuture<PresenceDetectionValue> future = pending.remove(detection);
+            if (future == null) {
+                continue;
+            }
+            String hostname = detection.getHostname();
+            PresenceDetectionValue pdv = new PresenceDetectionValue(hostname == null ? "" : hostname,
+                    PresenceDetectionValue.UNREACHABLE);
+            InetAddress address = detection.getDestinationAddress();
+            if (address == null) {
+                logger.trace("The destinationAddress for {} is null", hostname);
+                detection.finishDetection(pdv);
+                future.complete(pdv);
+                continue;
+            }
+            running.add(detection);
+            probes.add(new Probe(detection, address, pdv, future));
+        }
+        if (probes.isEmpty()) {
+            stopCycleJobIfIdle();
+            return;
+        }
+
+        logger.debug("Performing presence detection for {} devices", probes.size());
+        try {
+            startChecks(probes);
+        } catch (RuntimeException e) {
+            logger.warn("Presence detection failed", e);
+        }
+        // all checks have been started, devices without any outstanding check are finished now
+        probes.forEach(Probe::checkDone);
+    }
+
+    /**
+     * Starts the ICMP pings and TCP connects of the given devices on the probe pool.
+     */
+    private void startChecks(List<Probe> probes) {
+        Map<Duration, List<Probe>> batchPings = new HashMap<>();
+        Map<Duration, Map<InetSocketAddress, List<Probe>>> connects = new HashMap<>();
+
+        for (Probe probe : probes) {
+            PresenceDetection detection = probe.detection;
+            IpPingMethodEnum pingMethod = detection.pingMethod;
+            if (pingMethod == IpPingMethodEnum.JAVA_PING) {
+                submitCheck(List.of(probe), () -> detection.performJavaPing(probe.value));
+            } else if (pingMethod != null) {
+                if (isBatchPingAvailable()) {
+                    batchPings.computeIfAbsent(detection.getTimeout(), t -> new ArrayList<>()).add(probe);
+                } else {
+                    submitCheck(List.of(probe), () -> detection.performSystemPing(probe.value));
+                }
+            }
+            // several things may monitor the same service, and the timeout of the connects is configured per thing
+            for (int port : detection.getServicePorts()) {
+                connects.computeIfAbsent(detection.getTimeout(), t -> new HashMap<>())
+                        .computeIfAbsent(new InetSocketAddress(probe.address, port), a -> new ArrayList<>())
+                        .add(probe);
+            }
+        }
+
+        // ICMP pings of all devices with the same timeout with one process
+        batchPings.forEach((timeout, group) -> submitCheck(group, () -> batchPing(group, timeout)));
+        connects.forEach((timeout, probesByAddress) -> {
+            List<Probe> group = probesByAddress.values().stream().flatMap(List::stream).distinct().toList();
+            submitCheck(group, () -> scanServicePorts(probesByAddress, timeout));
+        });
+    }
+
+    /**
+     * Starts the ARP pings of a device which could not be reached otherwise.
+     *
+     * @return true if at least one ARP ping has been started
+     */
+    private boolean startArpPings(Probe probe) {
+        PresenceDetection detection = probe.detection;
+        ArpPingUtilEnum arpPingMethod = detection.getArpPingMethod();
+        if (!arpPingMethod.canProceed) {
+            return false;
+        }
+        // arp-ping.exe tool capable of handling multiple interfaces by itself
+        Set<String> interfaceNames = arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS
+                ? Set.of("")
+                : detection.getArpPingInterfaceNames();
+        for (String interfaceName : interfaceNames) {
+            submitCheck(List.of(probe), () -> detection.performArpPing(probe.value, interfaceName));
+        }
+        return !interfaceNames.isEmpty();
+    }
+
+    /**
+     * Performs a check on the probe pool, which counts as outstanding for all given devices until it is done.
+     */
+    private void submitCheck(List<Probe> probes, CheckedRunnable check) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        probes.forEach(Probe::checkStarted);
+        try {
+            probeExecutor.execute(() -> {
+                try {
+                    check.run();
+                } catch (IOException e) {
+                    logger.trace("Detection check failed", e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    logger.debug("Detection check failed to complete", e);
+                } finally {
+                    probes.forEach(Probe::checkDone);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.trace("The presence detection has been stopped", e);
+        }
+    }
+
+    private void batchPing(List<Probe> probes, Duration timeout) throws IOException, InterruptedException {
+        List<String> hostAddresses = probes.stream().map(p -> p.address.getHostAddress()).distinct().toList();
+        Map<String, PingResult> results = networkUtils.nativeBatchPing(hostAddresses, timeout);
+        for (Probe probe : probes) {
+            PingResult pingResult = results.get(probe.address.getHostAddress());
+            if (pingResult != null && pingResult.isSuccess()) {
+                PresenceDetection detection = probe.detection;
+                detection.updateReachable(probe.value, ICMP_PING, detection.getLatency(pingResult));
+            }
+        }
+    }
+
+    private void scanServicePorts(Map<InetSocketAddress, List<Probe>> probesByAddress, Duration timeout)
+            throws IOException {
+        new TcpConnectScanner(timeout, MAXIMUM_PENDING_CONNECTS).scan(probesByAddress.keySet(),
+                new TcpConnectScanner.ScanListener() {
+                    @Override
+                    public void connected(InetSocketAddress address, Duration latency) {
+                        for (Probe probe : probesByAddress.getOrDefault(address, List.of())) {
+                            probe.detection.updateReachable(probe.value, TCP_CONNECTION, latency, address.getPort());
+                            probe.checkReached();
+                        }
+                    }
+
+                    @Override
+                    public void refused(InetSocketAddress address, Duration latency) {
+                        // the monitored service is not available
+                    }
+                });
+    }
+
+    private boolean isBatchPingAvailable() {
+        Boolean batchPingAvailable = this.batchPingAvailable;
+        if (batchPingAvailable == null) {
+            batchPingAvailable = networkUtils.isBatchPingAvailable();
+            logger.debug("Batch ping with fping is {}", batchPingAvailable ? "available" : "not available");
+            this.batchPingAvailable = batchPingAvailable;
+        }
+        return batchPingAvailable;
+    }
+
+    @FunctionalInterface
+    private interface CheckedRunnable {
+        void run() throws IOException, InterruptedException;
+    }
+
+    /**
+     * The detection of a single device. It starts with one outstanding check, which is done once all checks of the
+     * cycle have been started. A device without any enabled check is not reported to its listener.
+     */
+    private class Probe {
+        private final PresenceDetection detection;
+        private final InetAddress address;
+        private final PresenceDetectionValue value;
+        private final CompletableFuture<PresenceDetectionValue> future;
+        private int outstandingChecks = 1;
+        private boolean checksStarted;
+        private boolean arpPingsStarted;
+        private boolean finished;
+
+        Probe(PresenceDetection detection, InetAddress address, PresenceDetectionValue value,
+                CompletableFuture<PresenceDetectionValue> future) {
+            this.detection = detection;
+            this.address = address;
+            this.value = value;
+            this.future = future;
+        }
+
+        synchronized void checkStarted() {
+            outstandingChecks++;
+            checksStarted = true;
+        }
+
+        /**
+         * A reachable device is finished right away, the remaining checks only add further detection types.
+         */
+        synchronized void checkReached() {
+            if (value.isReachable()) {
+                finish();
+            }
+        }
+
+        synchronized void checkDone() {
+            outstandingChecks--;
+            if (value.isReachable()) {
+                finish();
+            } else if (outstandingChecks == 0) {
+                // ARP pings need a process per device, only use them for devices which did not respond otherwise
+                if (!arpPingsStarted) {
+                    arpPingsStarted = true;
+                    if (startArpPings(this)) {
+                        return;
+                    }
+                }
+                finish();
+            }
+        }
+
+        private void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (scheduler.isShutdown()) {
+                // the engine has been disposed while the checks were running
+                future.cancel(true);
+            } else if (checksStarted) {
+                detection.finishDetection(value);
+            } else {
+                logger.trace("No presence detection checks are enabled for {}", value.getHostAddress());
+            }
+            running.remove(detection);
+            future.complete(value);
+        }
+    }
+}
@@ -15,24 +15,27 @@ package org.openhab.binding.network.internal.discovery;
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 import static org.openhab.binding.network.internal.utils.NetworkUtils.durationToMillis;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
-import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.TcpConnectScanner;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -48,7 +51,7 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
- * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * It tries common TCP ports to connect to and looks for hosts answering ARP requests.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
@@ -58,6 +61,7 @@ import org.slf4j.LoggerFactory;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final Duration PING_TIMEOUT = Duration.ofMillis(500);
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int MAXIMUM_PENDING_CONNECTS = 512;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -65,8 +69,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 554 (Windows share / Linux samba)
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Set.of(80, 548, 554, 1025);
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
-    private @Nullable ExecutorService executorService = null;
+    private final TcpConnectScanner scanner = new TcpConnectScanner(PING_TIMEOUT, MAXIMUM_PENDING_CONNECTS);
+    private @Nullable Future<?> scanJob;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
@@ -97,9 +101,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
-        }
+        scanner.stop();
         super.deactivate();
     }
 
@@ -121,66 +123,92 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the discovery job, which scans every IP on each interface on the network
      */
     @Override
     protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
+        Future<?> job = scanJob;
+        if (job == null || job.isDone()) {
+            scanner.reset();
+            scanJob = scheduler.submit(this::scan);
+        }
+    }
+
+    /**
+     * Scans all network IPs at once. The TCP connects to the service ports are performed non-blocking by the
+     * {@link TcpConnectScanner} and every open port is reported as soon as it is found. The connects also make the
+     * system resolve the MAC address of every host, so afterwards all hosts answering ARP requests are found in the
+     * ARP table without starting a ping or arping process per host.
+     */
+    private void scan() {
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
+        final Set<String> reachableIPs = new HashSet<>();
 
+        List<InetAddress> addresses = new ArrayList<>(networkIPs.size());
         for (String ip : networkIPs) {
-            final PresenceDetection pd = new PresenceDetection(this, scheduler, Duration.ofSeconds(2));
-            pd.setHostname(ip);
-            pd.setIOSDevice(true);
-            pd.setUseDhcpSniffing(false);
-            pd.setTimeout(PING_TIMEOUT);
-            // Ping devices
-            pd.setUseIcmpPing(true);
-            pd.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            pd.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                try {
-                    pd.getValue();
-                } catch (ExecutionException | InterruptedException e) {
-                    stopScan();
+            try {
+                addresses.add(InetAddress.getByName(ip));
+            } catch (UnknownHostException e) {
+                logger.trace("Could not parse IP address {}", ip, e);
+            }
+        }
+
+        try {
+            // iOS devices only answer ARP requests after they have been woken up
+            networkUtils.wakeUpIOS(addresses);
+        } catch (IOException e) {
+            logger.trace("Failed to wake up iOS devices", e);
+        }
+
+        List<InetSocketAddress> targets = new ArrayList<>(addresses.size() * tcpServicePorts.size());
+        for (InetAddress address : addresses) {
+            for (int port : tcpServicePorts) {
+                targets.add(new InetSocketAddress(address, port));
+            }
+        }
+
+        try {
+            scanner.scan(targets, new TcpConnectScanner.ScanListener() {
+                @Override
+                public void connected(InetSocketAddress address, Duration latency) {
+                    newServiceDevice(address.getAddress().getHostAddress(), address.getPort());
                 }
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
+
+                @Override
+                public void refused(InetSocketAddress address, Duration latency) {
+                    // the host answered, so it is present even though the port is closed
+                    String ip = address.getAddress().getHostAddress();
+                    if (reachableIPs.add(ip)) {
+                        newPingDevice(ip);
+                    }
                 }
             });
+
+            if (scanner.isStopped()) {
+                logger.trace("Network Device Discovery has been stopped");
+                return;
+            }
+            for (String ip : networkUtils.getArpTable().keySet()) {
+                if (networkIPs.contains(ip) && reachableIPs.add(ip)) {
+                    newPingDevice(ip);
+                }
+            }
+            logger.trace("Scan of {} IPs successful, found {} reachable devices", networkIPs.size(),
+                    reachableIPs.size());
+        } catch (IOException e) {
+            logger.debug("Network Device Discovery failed", e);
         }
+        stopScan();
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
-        service.shutdown();
-        executorService = null;
+        scanner.stop();
+        scanJob = null;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -189,7 +217,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link #startScan()}.
+     * Submit newly discovered devices. This method is called by the scan job started in {@link #startScan()}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -222,7 +250,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link #startScan()}.
+     * Submit newly discovered devices. This method is called by the scan job started in {@link #startScan()}.
      *
      * @param ip The device IP
      */
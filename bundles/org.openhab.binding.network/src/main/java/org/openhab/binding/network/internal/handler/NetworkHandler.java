@@ -30,6 +30,7 @@ import org.openhab.binding.network.internal.NetworkBindingConfigurationListener;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
 import org.openhab.binding.network.internal.NetworkHandlerConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
+import org.openhab.binding.network.internal.PresenceDetectionEngine;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.WakeOnLanPacketSender;
@@ -68,6 +69,7 @@ public class NetworkHandler extends BaseThingHandler
 
     private boolean isTCPServiceDevice;
     private NetworkBindingConfiguration configuration;
+    private PresenceDetectionEngine presenceDetectionEngine;
 
     // How many retries before a device is deemed offline
     int retries;
@@ -78,10 +80,12 @@ public class NetworkHandler extends BaseThingHandler
     /**
      * Do not call this directly, but use the {@see NetworkHandlerBuilder} instead.
      */
-    public NetworkHandler(Thing thing, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration) {
+    public NetworkHandler(Thing thing, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration,
+            PresenceDetectionEngine presenceDetectionEngine) {
         super(thing);
         this.isTCPServiceDevice = isTCPServiceDevice;
         this.configuration = configuration;
+        this.presenceDetectionEngine = presenceDetectionEngine;
         this.configuration.addNetworkBindingConfigurationListener(this);
     }
 
@@ -172,6 +176,7 @@ public class NetworkHandler extends BaseThingHandler
         handlerConfiguration = getConfigAs(NetworkHandlerConfiguration.class);
 
         this.presenceDetection = presenceDetection;
+        presenceDetection.setPresenceDetectionEngine(presenceDetectionEngine);
         presenceDetection.setHostname(handlerConfiguration.hostname);
         presenceDetection.setNetworkInterfaceNames(handlerConfiguration.networkInterfaceNames);
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
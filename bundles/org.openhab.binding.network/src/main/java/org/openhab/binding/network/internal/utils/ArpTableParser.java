@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Extracts the resolved entries of the operating system's ARP table, either from the Linux
+ * <code>/proc/net/arp</code> file or from the output of the <code>arp -a</code> command.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ArpTableParser {
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+    private static final Pattern ARP_COMMAND_PATTERN = Pattern
+            .compile("(\\d{1,3}(?:\\.\\d{1,3}){3})\\)?\\s+(?:at\\s+)?([0-9a-fA-F]{1,2}(?:[:-][0-9a-fA-F]{1,2}){5})");
+    private static final Pattern MAC_SEPARATOR_PATTERN = Pattern.compile("[:-]");
+    private static final String INCOMPLETE_FLAGS = "0x0";
+
+    // This is how /proc/net/arp looks like:
+    // IP address HW type Flags HW address Mask Device
+    // 192.168.1.1 0x1 0x2 aa:bb:cc:dd:ee:ff * eth0
+    // 192.168.1.7 0x1 0x0 00:00:00:00:00:00 * eth0
+
+    /**
+     * Parses the lines of the Linux <code>/proc/net/arp</code> file.
+     *
+     * @param lines the lines of the file, including the header line
+     * @return the MAC addresses of all completely resolved entries by their IP address
+     */
+    public Map<String, String> parseProcNetArp(List<String> lines) {
+        Map<String, String> result = new HashMap<>();
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] columns = WHITESPACE_PATTERN.split(line.trim());
+            if (columns.length >= 4 && !INCOMPLETE_FLAGS.equals(columns[2]) && isHostAddress(columns[3])) {
+                result.put(columns[0], columns[3].toLowerCase());
+            }
+        }
+        return result;
+    }
+
+    // This is how the output of arp -an looks like on macOS and BSD:
+    // ? (192.168.1.1) at aa:bb:cc:dd:ee:ff on en0 ifscope [ethernet]
+    // ? (192.168.1.7) at (incomplete) on en0 ifscope [ethernet]
+    //
+    // and the output of arp -a on Windows:
+    // Interface: 192.168.1.20 --- 0xb
+    // Internet Address Physical Address Type
+    // 192.168.1.1 aa-bb-cc-dd-ee-ff dynamic
+
+    /**
+     * Parses the output of the <code>arp -a</code> command.
+     *
+     * @param output the complete output of the command
+     * @return the MAC addresses of all completely resolved entries by their IP address
+     */
+    public Map<String, String> parseArpCommandOutput(String output) {
+        Map<String, String> result = new HashMap<>();
+        for (String line : output.split("\\R")) {
+            Matcher m = ARP_COMMAND_PATTERN.matcher(line);
+            if (m.find() && isHostAddress(m.group(2))) {
+                result.put(m.group(1), m.group(2).replace('-', ':').toLowerCase());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The system lists incomplete entries with an empty MAC address and the broadcast address as a static entry;
+     * neither of them belongs to a host that answered.
+     */
+    private boolean isHostAddress(String macAddress) {
+        boolean empty = true;
+        boolean broadcast = true;
+        for (String octet : MAC_SEPARATOR_PATTERN.split(macAddress)) {
+            int value = Integer.parseInt(octet, 16);
+            empty &= value == 0;
+            broadcast &= value == 0xff;
+        }
+        return !empty && !broadcast;
+    }
+}
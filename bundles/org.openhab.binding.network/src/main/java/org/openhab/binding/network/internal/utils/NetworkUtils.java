@@ -15,6 +15,7 @@ package org.openhab.binding.network.internal.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.ProcessBuilder.Redirect;
 import java.net.ConnectException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
@@ -28,14 +29,21 @@ import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -84,10 +92,14 @@ public class NetworkUtils {
         return Duration.ofNanos((long) (millis * NANOS_PER_MILLI));
     }
 
+    private static final Pattern BATCH_PING_ALIVE_PATTERN = Pattern.compile("^(\\S+) is alive(?: \\((\\S+) ms\\))?");
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
 
+    private ArpTableParser arpTableParser = new ArpTableParser();
+
     /**
      * Gets every IPv4 Address on each Interface except the loopback
      * The Address format is ip/subnet
@@ -359,6 +371,55 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Return true if the fping utility, which pings many hosts with a single process, is available.
+     */
+    public boolean isBatchPingAvailable() {
+        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofMillis(500), "fping", "-v");
+        return result != null && result.contains("fping: Version");
+    }
+
+    /**
+     * Use the fping utility to ping all given hosts with a single process.
+     *
+     * @param hostAddresses the IPv4 or IPv6 addresses to ping
+     * @param timeout the timeout before a host is considered unreachable
+     * @return the results of all hosts which answered by their address
+     * @throws IOException The fping command could probably not be found
+     */
+    public Map<String, PingResult> nativeBatchPing(Collection<String> hostAddresses, Duration timeout)
+            throws IOException, InterruptedException {
+        if (hostAddresses.isEmpty()) {
+            return Map.of();
+        }
+        List<String> command = new ArrayList<>(
+                List.of("fping", "-e", "-r", "0", "-t", String.valueOf(timeout.toMillis())));
+        command.addAll(hostAddresses);
+        Process proc = new ProcessBuilder(command).redirectError(Redirect.DISCARD).start();
+
+        // This is how the output looks like:
+        // 192.168.1.1 is alive (0.52 ms)
+        // 192.168.1.7 is unreachable
+        Map<String, PingResult> result = new HashMap<>();
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                Matcher m = BATCH_PING_ALIVE_PATTERN.matcher(line);
+                if (m.find()) {
+                    String latency = m.group(2);
+                    Duration responseTime = latency == null ? Duration.ZERO
+                            : millisToDuration(Double.parseDouble(latency));
+                    PingResult pingResult = new PingResult(true, responseTime);
+                    pingResult.setResponseTime(responseTime);
+                    result.put(m.group(1), pingResult);
+                }
+            }
+        }
+        // The return code is 0 if all hosts are reachable and 1 if some are not
+        proc.waitFor();
+        return result;
+    }
+
     public enum ArpPingUtilEnum {
         DISABLED("Disabled", false),
         DISABLED_INVALID_IP("Destination is not a valid IPv4 address", false),
@@ -417,6 +478,34 @@ public class NetworkUtils {
         return new PingResult(proc.waitFor() == 0, Duration.between(execStartTime, Instant.now()));
     }
 
+    /**
+     * Reads the resolved entries of the ARP table of the operating system. Every connection attempt to an address
+     * on a local network makes the system send an ARP request, so after a scan of the network the table contains
+     * every host which answered.
+     *
+     * @return the MAC addresses of all completely resolved entries by their IPv4 address
+     */
+    public Map<String, String> getArpTable() {
+        Path procNetArp = Path.of("/proc/net/arp");
+        if (Files.isReadable(procNetArp)) {
+            try {
+                return arpTableParser.parseProcNetArp(Files.readAllLines(procNetArp));
+            } catch (IOException e) {
+                logger.trace("Could not read {}", procNetArp, e);
+            }
+        }
+
+        String os = System.getProperty("os.name", "").toLowerCase();
+        String result = os.contains("win")
+                ? ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(5), "arp", "-a")
+                : ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(5), "arp", "-an");
+        if (result == null || result.isBlank()) {
+            logger.trace("The arp command did not return a response due to an error or timeout");
+            return Map.of();
+        }
+        return arpTableParser.parseArpCommandOutput(result);
+    }
+
     /**
      * Execute a Java ping.
      *
@@ -453,4 +542,24 @@ public class NetworkUtils {
             logger.trace("Unable to send packet to wake up iOS device at {}:{}", address, port, e);
         }
     }
+
+    /**
+     * Sends the iOS wake up packet of {@link #wakeUpIOS(InetAddress)} to all given addresses using a single socket.
+     *
+     * @throws IOException if the socket could not be created
+     */
+    public void wakeUpIOS(Collection<InetAddress> addresses) throws IOException {
+        int port = 5353;
+        try (DatagramSocket s = new DatagramSocket()) {
+            byte[] buffer = new byte[0];
+            for (InetAddress address : addresses) {
+                try {
+                    s.send(new DatagramPacket(buffer, buffer.length, address, port));
+                } catch (IOException e) {
+                    logger.trace("Unable to send packet to wake up iOS device at {}:{}", address, port, e);
+                }
+            }
+            logger.trace("Sent packet to {} addresses on port {} to wake up iOS devices", addresses.size(), port);
+        }
+    }
 }
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpConnectScanner} tries to establish TCP connections to many addresses at once. All connects are
+ * non-blocking and handled by a single {@link Selector} on the calling thread, so scanning thousands of
+ * addresses needs neither a thread nor a process per address.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectScanner {
+
+    /**
+     * Receives the results of a scan. The methods are called on the scanning thread as soon as the result is known.
+     */
+    public interface ScanListener {
+        /**
+         * The connection to the given address was accepted, the port is open.
+         */
+        void connected(InetSocketAddress address, Duration latency);
+
+        /**
+         * The connection to the given address was actively refused. The port is closed, but the host is present.
+         */
+        void refused(InetSocketAddress address, Duration latency);
+    }
+
+    private static class PendingConnect {
+        final InetSocketAddress address;
+        final SocketChannel channel;
+        final long startTime;
+
+        PendingConnect(InetSocketAddress address, SocketChannel channel, long startTime) {
+            this.address = address;
+            this.channel = channel;
+            this.startTime = startTime;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnectScanner.class);
+
+    private final Duration timeout;
+    private final int maxPendingConnects;
+
+    private volatile boolean stopped;
+    private volatile @Nullable Selector activeSelector;
+
+    /**
+     * @param timeout the time to wait for each connection before it is considered failed
+     * @param maxPendingConnects the maximum number of connects in progress at the same time
+     */
+    public TcpConnectScanner(Duration timeout, int maxPendingConnects) {
+        this.timeout = timeout;
+        this.maxPendingConnects = maxPendingConnects;
+    }
+
+    /**
+     * Tries to connect to all given addresses and blocks until every connect has finished, timed out or
+     * {@link #stop()} has been called. A scanner that has been stopped does not scan again until {@link #reset()}
+     * is called.
+     *
+     * @param targets the addresses to connect to
+     * @param listener the listener for the reachable addresses
+     * @throws IOException if the selector could not be opened
+     */
+    public void scan(Iterable<InetSocketAddress> targets, ScanListener listener) throws IOException {
+        long timeoutNanos = timeout.toNanos();
+        // all connects share the same timeout, so they expire in the order they were started
+        Deque<SelectionKey> pending = new ArrayDeque<>();
+        int inProgress = 0;
+        Iterator<InetSocketAddress> iterator = targets.iterator();
+
+        try (Selector selector = Selector.open()) {
+            activeSelector = selector;
+            while (!stopped && (iterator.hasNext() || !pending.isEmpty())) {
+                while (iterator.hasNext() && inProgress < maxPendingConnects) {
+                    SelectionKey key = connect(selector, iterator.next(), listener);
+                    if (key != null) {
+                        pending.add(key);
+                        inProgress++;
+                    }
+                }
+
+                SelectionKey oldest = pending.peekFirst();
+                if (oldest != null) {
+                    long remaining = ((PendingConnect) oldest.attachment()).startTime + timeoutNanos
+                            - System.nanoTime();
+                    selector.select(Math.max(1, Duration.ofNanos(remaining).toMillis()));
+                } else {
+                    selector.selectNow();
+                }
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!stopped && finishConnect(key, listener)) {
+                        inProgress--;
+                    }
+                }
+                selector.selectedKeys().clear();
+
+                long now = System.nanoTime();
+                while (!pending.isEmpty()) {
+                    SelectionKey key = pending.getFirst();
+                    if (key.isValid()) {
+                        if (now - ((PendingConnect) key.attachment()).startTime < timeoutNanos) {
+                            break;
+                        }
+                        close(key);
+                        inProgress--;
+                    }
+                    pending.removeFirst();
+                }
+            }
+        } finally {
+            activeSelector = null;
+            pending.forEach(this::close);
+        }
+    }
+
+    /**
+     * Aborts a running scan. Connects in progress are closed and no further results are reported.
+     */
+    public void stop() {
+        stopped = true;
+        Selector selector = activeSelector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Allows the next scan to run after {@link #stop()} has been called. The owner has to call this before the scan
+     * is scheduled, so that a {@link #stop()} issued before the scan has started is not lost.
+     */
+    public void reset() {
+        stopped = false;
+    }
+
+    /**
+     * Return <code>true</code> if the last scan has been aborted by {@link #stop()}.
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    private @Nullable SelectionKey connect(Selector selector, InetSocketAddress address, ScanListener listener) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            // reset instead of a regular close, a scan must not leave thousands of sockets in TIME_WAIT
+            channel.setOption(StandardSocketOptions.SO_LINGER, 0);
+            long startTime = System.nanoTime();
+            if (channel.connect(address)) {
+                listener.connected(address, Duration.ofNanos(System.nanoTime() - startTime));
+                channel.close();
+                return null;
+            }
+            return channel.register(selector, SelectionKey.OP_CONNECT,
+                    new PendingConnect(address, channel, startTime));
+        } catch (IOException e) {
+            logger.trace("Could not connect to {}", address, e);
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the connect is finished, either successfully or not
+     */
+    private boolean finishConnect(SelectionKey key, ScanListener listener) {
+        PendingConnect connect = (PendingConnect) key.attachment();
+        try {
+            if (!connect.channel.finishConnect()) {
+                return false;
+            }
+            listener.connected(connect.address, Duration.ofNanos(System.nanoTime() - connect.startTime));
+        } catch (ConnectException e) {
+            listener.refused(connect.address, Duration.ofNanos(System.nanoTime() - connect.startTime));
+        } catch (IOException e) {
+            logger.trace("Could not connect to {}", connect.address, e);
+        }
+        close(key);
+        return true;
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        try {
+            ((PendingConnect) key.attachment()).channel.close();
+        } catch (IOException e) {
+            logger.trace("Failed to close channel", e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@link PresenceDetectionEngine}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class PresenceDetectionEngineTest {
+
+    private @NonNullByDefault({}) PresenceDetectionEngine engine;
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduledExecutorService;
+    private @Mock @NonNullByDefault({}) PresenceDetectionListener listener;
+    private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
+    private @Mock @NonNullByDefault({}) Consumer<PresenceDetectionValue> callback;
+
+    @BeforeEach
+    public void setUp() throws IOException, InterruptedException {
+        doReturn(IpPingMethodEnum.IPUTILS_LINUX_PING).when(networkUtils).determinePingMethod();
+        doReturn(true).when(networkUtils).isBatchPingAvailable();
+        doReturn(Map.of("127.0.0.1", new PingResult(true, Duration.ofMillis(10)))).when(networkUtils)
+                .nativeBatchPing(any(), any());
+
+        engine = new PresenceDetectionEngine(scheduledExecutorService);
+        engine.networkUtils = networkUtils;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.dispose();
+    }
+
+    private PresenceDetection createDetection(String hostname) {
+        PresenceDetection detection = new PresenceDetection(listener, scheduledExecutorService, Duration.ofSeconds(2));
+        detection.networkUtils = networkUtils;
+        detection.setHostname(hostname);
+        detection.setTimeout(Duration.ofMillis(300));
+        detection.setUseIcmpPing(true);
+        detection.setPresenceDetectionEngine(engine);
+        return detection;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void devicesArePingedTogether() throws IOException, InterruptedException {
+        PresenceDetection reachable = createDetection("127.0.0.1");
+        PresenceDetection unreachable = createDetection("127.0.0.2");
+
+        reachable.getValue(callback);
+        unreachable.getValue(callback);
+        // There should be no callback before the next cycle
+        verify(callback, never()).accept(any());
+
+        engine.runCycle();
+
+        ArgumentCaptor<Collection<String>> hostAddresses = ArgumentCaptor.forClass(Collection.class);
+        verify(networkUtils, timeout(1000)).nativeBatchPing(hostAddresses.capture(), eq(Duration.ofMillis(300)));
+        assertThat(hostAddresses.getValue(), containsInAnyOrder("127.0.0.1", "127.0.0.2"));
+        verify(networkUtils, never()).nativePing(any(), anyString(), any());
+
+        ArgumentCaptor<PresenceDetectionValue> values = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener, timeout(1000).times(2)).finalDetectionResult(values.capture());
+        PresenceDetectionValue reachableValue = values.getAllValues().stream()
+                .filter(v -> "127.0.0.1".equals(v.getHostAddress())).findFirst().orElseThrow();
+        PresenceDetectionValue unreachableValue = values.getAllValues().stream()
+                .filter(v -> "127.0.0.2".equals(v.getHostAddress())).findFirst().orElseThrow();
+        assertThat(reachableValue.isReachable(), is(true));
+        assertThat(reachableValue.getSuccessfulDetectionTypes(), is("ICMP_PING"));
+        assertThat(unreachableValue.isReachable(), is(false));
+        verify(callback, timeout(1000).times(2)).accept(any());
+    }
+
+    @Test
+    public void cachedDevicesAreNotProbed() throws IOException, InterruptedException {
+        PresenceDetection detection = createDetection("127.0.0.1");
+        detection.setRefreshInterval(Duration.ZERO);
+        detection.startAutomaticRefresh();
+        assertThat(detection.isAutomaticRefreshing(), is(true));
+
+        engine.runCycle();
+        verify(listener, timeout(1000)).finalDetectionResult(any());
+        verify(networkUtils, times(1)).nativeBatchPing(any(), any());
+
+        // The cached value is still valid, so the device is not part of the next cycle
+        engine.runCycle();
+        verify(networkUtils, times(1)).nativeBatchPing(any(), any());
+        verify(listener, times(1)).finalDetectionResult(any());
+
+        detection.stopAutomaticRefresh();
+        assertThat(detection.isAutomaticRefreshing(), is(false));
+    }
+
+    @Test
+    public void reachableDevicesDoNotWaitForOtherDevices() throws IOException, InterruptedException {
+        CountDownLatch slowPing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            slowPing.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        }).when(networkUtils).nativeBatchPing(any(), eq(Duration.ofMillis(2000)));
+
+        PresenceDetection reachable = createDetection("127.0.0.1");
+        PresenceDetection slow = createDetection("127.0.0.2");
+        slow.setTimeout(Duration.ofMillis(2000));
+
+        reachable.getValue(callback);
+        slow.getValue(callback);
+        engine.runCycle();
+
+        // The runCycle does not wait for the probes, and the reachable device is finished before the slow one
+        ArgumentCaptor<PresenceDetectionValue> values = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener, timeout(1000)).finalDetectionResult(values.capture());
+        assertThat(values.getValue().getHostAddress(), is("127.0.0.1"));
+        assertThat(values.getValue().isReachable(), is(true));
+
+        slowPing.countDown();
+        verify(listener, timeout(1000).times(2)).finalDetectionResult(any());
+        verify(callback, timeout(1000).times(2)).accept(any());
+    }
+
+    @Test
+    public void devicesWithoutChecksAreNotReported() {
+        PresenceDetection detection = createDetection("127.0.0.1");
+        detection.setUseIcmpPing(null);
+
+        detection.getValue(callback);
+        engine.runCycle();
+
+        ArgumentCaptor<PresenceDetectionValue> value = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(callback, timeout(1000)).accept(value.capture());
+        assertThat(value.getValue().isReachable(), is(false));
+        verify(listener, never()).finalDetectionResult(any());
+    }
+}
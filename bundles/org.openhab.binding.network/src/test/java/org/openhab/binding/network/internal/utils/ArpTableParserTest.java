@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parser which extracts the resolved entries of the ARP table.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ArpTableParserTest {
+
+    private static final String PROC_NET_ARP_HEADER = "IP address       HW type     Flags       HW address            Mask     Device";
+
+    private final ArpTableParser arpTableParser = new ArpTableParser();
+
+    @Test
+    public void parseProcNetArp() {
+        List<String> lines = List.of(PROC_NET_ARP_HEADER,
+                "192.168.1.1      0x1         0x2         AA:BB:CC:DD:EE:FF     *        eth0",
+                "192.168.1.7      0x1         0x0         00:00:00:00:00:00     *        eth0",
+                "192.168.1.8      0x1         0x0         aa:bb:cc:dd:ee:01     *        eth0",
+                "192.168.1.9      0x1         0x2         00:00:00:00:00:00     *        eth0",
+                "10.0.0.3         0x1         0x2         11:22:33:44:55:66     *        wlan0");
+
+        Map<String, String> result = arpTableParser.parseProcNetArp(lines);
+
+        assertEquals(Map.of("192.168.1.1", "aa:bb:cc:dd:ee:ff", "10.0.0.3", "11:22:33:44:55:66"), result);
+    }
+
+    @Test
+    public void parseProcNetArpWithoutEntries() {
+        assertTrue(arpTableParser.parseProcNetArp(List.of()).isEmpty());
+        assertTrue(arpTableParser.parseProcNetArp(List.of(PROC_NET_ARP_HEADER)).isEmpty());
+    }
+
+    @Test
+    public void parseMacOSArpCommandOutput() {
+        String output = """
+                ? (192.168.1.1) at aa:bb:cc:dd:ee:ff on en0 ifscope [ethernet]
+                ? (192.168.1.7) at (incomplete) on en0 ifscope [ethernet]
+                ? (192.168.1.9) at 0:1a:2b:3c:4d:5e on en0 ifscope [ethernet]
+                ? (192.168.1.10) at 0:0:0:0:0:0 on en0 ifscope [ethernet]
+                ? (192.168.1.255) at ff:ff:ff:ff:ff:ff on en0 ifscope [ethernet]
+                """;
+
+        Map<String, String> result = arpTableParser.parseArpCommandOutput(output);
+
+        assertEquals(Map.of("192.168.1.1", "aa:bb:cc:dd:ee:ff", "192.168.1.9", "0:1a:2b:3c:4d:5e"), result);
+    }
+
+    @Test
+    public void parseWindowsArpCommandOutput() {
+        String output = """
+                Interface: 192.168.1.20 --- 0xb
+                  Internet Address      Physical Address      Type
+                  192.168.1.1           aa-bb-cc-dd-ee-ff     dynamic
+                  192.168.1.255         ff-ff-ff-ff-ff-ff     static
+                """;
+
+        Map<String, String> result = arpTableParser.parseArpCommandOutput(output);
+
+        assertEquals(Map.of("192.168.1.1", "aa:bb:cc:dd:ee:ff"), result);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link TcpConnectScanner}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectScannerTest {
+
+    private static class RecordingListener implements TcpConnectScanner.ScanListener {
+        final List<InetSocketAddress> connected = new ArrayList<>();
+        final List<InetSocketAddress> refused = new ArrayList<>();
+
+        @Override
+        public void connected(InetSocketAddress address, Duration latency) {
+            connected.add(address);
+        }
+
+        @Override
+        public void refused(InetSocketAddress address, Duration latency) {
+            refused.add(address);
+        }
+    }
+
+    @Test
+    public void openAndClosedPortsAreReported() throws IOException {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        try (ServerSocket open1 = new ServerSocket(0, 50, localhost);
+                ServerSocket open2 = new ServerSocket(0, 50, localhost)) {
+            int closedPort;
+            try (ServerSocket closed = new ServerSocket(0, 50, localhost)) {
+                closedPort = closed.getLocalPort();
+            }
+            InetSocketAddress openAddress1 = new InetSocketAddress(localhost, open1.getLocalPort());
+            InetSocketAddress openAddress2 = new InetSocketAddress(localhost, open2.getLocalPort());
+            InetSocketAddress closedAddress = new InetSocketAddress(localhost, closedPort);
+
+            RecordingListener listener = new RecordingListener();
+            // a single pending connect at a time still has to work through all targets
+            new TcpConnectScanner(Duration.ofSeconds(2), 1).scan(List.of(openAddress1, closedAddress, openAddress2),
+                    listener);
+
+            assertEquals(List.of(openAddress1, openAddress2), listener.connected);
+            assertEquals(List.of(closedAddress), listener.refused);
+        }
+    }
+
+    @Test
+    public void stoppedScanReportsNoFurtherResults() throws IOException {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        try (ServerSocket open = new ServerSocket(0, 50, localhost)) {
+            TcpConnectScanner scanner = new TcpConnectScanner(Duration.ofSeconds(2), 1);
+            RecordingListener listener = new RecordingListener() {
+                @Override
+                public void connected(InetSocketAddress address, Duration latency) {
+                    super.connected(address, latency);
+                    scanner.stop();
+                }
+            };
+            InetSocketAddress address = new InetSocketAddress(localhost, open.getLocalPort());
+
+            scanner.scan(List.of(address, address, address), listener);
+
+            assertTrue(scanner.isStopped());
+            assertEquals(List.of(address), listener.connected);
+        }
+    }
+
+    @Test
+    public void stopBeforeScanIsNotLost() throws IOException {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        try (ServerSocket open = new ServerSocket(0, 50, localhost)) {
+            TcpConnectScanner scanner = new TcpConnectScanner(Duration.ofSeconds(2), 1);
+            InetSocketAddress address = new InetSocketAddress(localhost, open.getLocalPort());
+            RecordingListener listener = new RecordingListener();
+
+            scanner.stop();
+            scanner.scan(List.of(address), listener);
+
+            assertTrue(listener.connected.isEmpty());
+
+            scanner.reset();
+            scanner.scan(List.of(address), listener);
+
+            assertFalse(scanner.isStopped());
+            assertEquals(List.of(address), listener.connected);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+/**
+ * Coalesces written values into BatchWriteItem requests.
+ *
+ * Values are collected in a pending map keyed by DTO class, item name and timestamp. A later value with the same key
+ * replaces the earlier one (last write wins), which also guarantees that a batch never contains the same key twice,
+ * as required by DynamoDB. Up to {@value #MAX_BATCH_SIZE} values of the same DTO class are sent in one request, and
+ * at most {@value #MAX_IN_FLIGHT_REQUESTS} requests are in flight at the same time. Values arriving while all requests
+ * are in flight simply wait for the next batch, so batches grow with the write rate without adding latency when the
+ * rate is low.
+ *
+ * Unprocessed values (e.g. due to throttling) and failed requests are retried with exponential backoff. If the table
+ * does not exist yet, the values of the batch are written with {@link TableCreatingPutItem}, which creates the table.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+    /**
+     * Maximum number of items in one BatchWriteItem request, as limited by DynamoDB
+     */
+    static final int MAX_BATCH_SIZE = 25;
+    static final int MAX_IN_FLIGHT_REQUESTS = 8;
+    static final int MAX_PENDING_ITEMS = 10_000;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final long INITIAL_BACKOFF_MILLIS = 50;
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final DynamoDbEnhancedAsyncClient client;
+    private final ExecutorService executor;
+
+    // all fields below are guarded by this
+    private final Map<PendingKey, PendingItem> pending = new LinkedHashMap<>();
+    private int inFlightRequests;
+    private int scheduledRetries;
+
+    private record PendingKey(Class<?> dtoClass, String name, Instant time) {
+    }
+
+    private record PendingItem(DynamoDBItem<?> dto, int attempt) {
+    }
+
+    private record Batch(Class<? extends DynamoDBItem<?>> dtoClass, List<PendingItem> items) {
+    }
+
+    public DynamoDBBatchWriter(DynamoDBPersistenceService service, DynamoDbEnhancedAsyncClient client) {
+        this.service = service;
+        this.client = client;
+        this.executor = service.getExecutor();
+    }
+
+    /**
+     * Queues a value to be written. Returns immediately, the value is written asynchronously.
+     *
+     * @param dto the value to write
+     */
+    public void write(DynamoDBItem<?> dto) {
+        synchronized (this) {
+            PendingKey key = keyOf(dto);
+            // last write wins, the replaced value is moved to the end so values are written in order of arrival
+            if (pending.remove(key) == null && pending.size() >= MAX_PENDING_ITEMS) {
+                logger.warn("Too many ({}) values waiting to be written. Discarding value of item {}.", pending.size(),
+                        dto.getName());
+                return;
+            }
+            pending.put(key, new PendingItem(dto, 0));
+        }
+        drain();
+    }
+
+    /**
+     * Waits until all queued values have been written or given up.
+     *
+     * @param timeout maximum time to wait
+     * @return true if all values have been handled, false if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty() || inFlightRequests > 0 || scheduledRetries > 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of values waiting for a request
+     *
+     * @return number of pending values
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private static PendingKey keyOf(DynamoDBItem<?> dto) {
+        // timestamps are stored with millisecond precision
+        return new PendingKey(dto.getClass(), dto.getName(), dto.getTime().toInstant().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    private void drain() {
+        Batch batch;
+        while ((batch = nextBatch()) != null) {
+            writeBatch(batch.dtoClass(), batch.items());
+        }
+    }
+
+    private synchronized @Nullable Batch nextBatch() {
+        if (pending.isEmpty() || inFlightRequests >= MAX_IN_FLIGHT_REQUESTS) {
+            return null;
+        }
+        @SuppressWarnings("unchecked") // all DTOs implement DynamoDBItem<?>
+        Class<? extends DynamoDBItem<?>> dtoClass = (Class<? extends DynamoDBItem<?>>) pending.values().iterator()
+                .next().dto().getClass();
+        List<PendingItem> items = new ArrayList<>(MAX_BATCH_SIZE);
+        // a request contains only values of one DTO class, so that unprocessed items can be mapped back
+        Iterator<PendingItem> iterator = pending.values().iterator();
+        while (iterator.hasNext() && items.size() < MAX_BATCH_SIZE) {
+            PendingItem item = iterator.next();
+            if (item.dto().getClass() == dtoClass) {
+                items.add(item);
+                iterator.remove();
+            }
+        }
+        inFlightRequests++;
+        return new Batch(dtoClass, items);
+    }
+
+    private synchronized void requestCompleted() {
+        inFlightRequests--;
+        notifyAll();
+    }
+
+    private <T extends DynamoDBItem<?>> void writeBatch(Class<T> dtoClass, List<PendingItem> items) {
+        Instant start = Instant.now();
+        final DynamoDbAsyncTable<T> table;
+        final CompletableFuture<?> future;
+        try {
+            table = service.getTable(dtoClass);
+            WriteBatch.Builder<T> writeBatch = WriteBatch.builder(dtoClass).mappedTableResource(table);
+            items.forEach(item -> writeBatch.addPutItem(dtoClass.cast(item.dto())));
+            future = client.batchWriteItem(BatchWriteItemEnhancedRequest.builder().writeBatches(writeBatch.build())
+                    .build()).thenAccept(result -> {
+                        List<T> unprocessed = result.unprocessedPutItemsForTable(table);
+                        logger.trace("BatchWriteItem: {} of {} values written in {} ms.",
+                                items.size() - unprocessed.size(), items.size(),
+                                Duration.between(start, Instant.now()).toMillis());
+                        if (!unprocessed.isEmpty()) {
+                            retry(unprocessed(items, unprocessed));
+                        }
+                    });
+        } catch (RuntimeException e) {
+            logger.warn("BatchWriteItem: failed (final) with {} {}. Discarding {} values.",
+                    e.getClass().getSimpleName(), e.getMessage(), items.size());
+            requestCompleted();
+            return;
+        }
+        future.whenCompleteAsync((result, exception) -> {
+            requestCompleted();
+            if (exception != null) {
+                Throwable cause = exception.getCause();
+                if (!(exception instanceof CompletionException) || cause == null) {
+                    cause = exception;
+                }
+                if (cause instanceof ResourceNotFoundException) {
+                    logger.trace("BatchWriteItem: Table '{}' was not present. Writing values one by one, creating the "
+                            + "table first", table.tableName());
+                    items.forEach(item -> new TableCreatingPutItem<>(service, dtoClass.cast(item.dto()), table)
+                            .putItemAsync());
+                } else {
+                    logger.debug("BatchWriteItem: failed with {} {}. Will be retried.",
+                            cause.getClass().getSimpleName(), cause.getMessage());
+                    retry(items);
+                }
+            }
+            drain();
+        }, executor);
+    }
+
+    private static List<PendingItem> unprocessed(List<PendingItem> items, List<? extends DynamoDBItem<?>> unprocessed) {
+        Map<PendingKey, PendingItem> itemsByKey = new HashMap<>();
+        items.forEach(item -> itemsByKey.put(keyOf(item.dto()), item));
+        List<PendingItem> result = new ArrayList<>(unprocessed.size());
+        for (DynamoDBItem<?> dto : unprocessed) {
+            PendingItem item = itemsByKey.get(keyOf(dto));
+            result.add(item != null ? item : new PendingItem(dto, 0));
+        }
+        return result;
+    }
+
+    private void retry(List<PendingItem> items) {
+        int attempt = items.stream().mapToInt(PendingItem::attempt).max().orElse(0) + 1;
+        if (attempt >= MAX_ATTEMPTS) {
+            logger.warn("BatchWriteItem: failed (final) after {} attempts. Discarding {} values.", attempt,
+                    items.size());
+            return;
+        }
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << (attempt - 1));
+        // randomized, so that throttled requests do not retry in lockstep
+        long delay = ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+        synchronized (this) {
+            scheduledRetries++;
+        }
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor).execute(() -> {
+            synchronized (this) {
+                scheduledRetries--;
+                for (PendingItem item : items) {
+                    // a newer value with the same key wins over the retried one
+                    pending.putIfAbsent(keyOf(item.dto()), new PendingItem(item.dto(), attempt));
+                }
+                notifyAll();
+            }
+            drain();
+        });
+    }
+}
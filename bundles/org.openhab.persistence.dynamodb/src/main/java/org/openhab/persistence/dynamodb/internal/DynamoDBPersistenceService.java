@@ -108,6 +108,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private final UnitProvider unitProvider;
     private @Nullable DynamoDbEnhancedAsyncClient client;
     private @Nullable DynamoDbAsyncClient lowLevelClient;
+    private @Nullable DynamoDBBatchWriter batchWriter;
     private static final Logger logger = LoggerFactory.getLogger(DynamoDBPersistenceService.class);
     private boolean isProperlyConfigured;
     private @Nullable DynamoDBConfig dbConfig;
@@ -115,6 +116,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private final ExecutorService executor = ThreadPoolManager.getPool(DYNAMODB_THREADPOOL_NAME);
     private static final Duration TIMEOUT_API_CALL = Duration.ofSeconds(60);
     private static final Duration TIMEOUT_API_CALL_ATTEMPT = Duration.ofSeconds(5);
+    private static final Duration TIMEOUT_FLUSH = Duration.ofSeconds(10);
     private Map<Class<? extends DynamoDBItem<?>>, DynamoDbAsyncTable<? extends DynamoDBItem<?>>> tableCache = new ConcurrentHashMap<>(
             2);
 
@@ -241,7 +243,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
                         lowlevelClientBuilder.endpointOverride(endpointOverride);
                     }
                     DynamoDbAsyncClient lowlevelClient = lowlevelClientBuilder.build();
-                    client = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(lowlevelClient).build();
+                    DynamoDbEnhancedAsyncClient enhancedClient = DynamoDbEnhancedAsyncClient.builder()
+                            .dynamoDbClient(lowlevelClient).build();
+                    batchWriter = new DynamoDBBatchWriter(this, enhancedClient);
+                    client = enhancedClient;
                     this.lowLevelClient = lowlevelClient;
                 }
             } catch (Exception e) {
@@ -277,7 +282,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
+    <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
         DynamoDbEnhancedAsyncClient localClient = client;
         DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
         if (!ensureClient() || localClient == null || localTableNameResolver == null) {
@@ -320,7 +325,19 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         if (client == null || localLowLevelClient == null) {
             return;
         }
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null) {
+            try {
+                if (!localBatchWriter.flush(TIMEOUT_FLUSH)) {
+                    logger.warn("Not all values have been written within {} s, {} values are still pending.",
+                            TIMEOUT_FLUSH.toSeconds(), localBatchWriter.getPendingCount());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         localLowLevelClient.close();
+        batchWriter = null;
         lowLevelClient = null;
         client = null;
         dbConfig = null;
@@ -540,8 +557,9 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             DynamoDbAsyncClient localLowlevelClient = lowLevelClient;
             DynamoDBConfig localConfig = dbConfig;
             DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
+            DynamoDBBatchWriter localBatchWriter = batchWriter;
             if (!isProperlyConfigured || localClient == null || localLowlevelClient == null || localConfig == null
-                    || localTableNameResolver == null) {
+                    || localTableNameResolver == null || localBatchWriter == null) {
                 logger.warn("Not ready to store (config error?), not storing item {}.", item.getName());
                 return;
             }
@@ -561,21 +579,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
-                            getTable(DynamoDBBigDecimalItem.class));
-                }
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
-                            getTable(DynamoDBStringItem.class));
-                }
-            }).putItemAsync();
+            localBatchWriter.write(dto);
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
@@ -14,6 +14,9 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -27,19 +30,25 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -49,12 +58,14 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.influxdb.internal.AggregationFunction;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpool;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
@@ -69,6 +80,11 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * This is the implementation of the InfluxDB {@link PersistenceService}. It
  * persists item values using the <a href="http://influxdb.org">InfluxDB</a> time
@@ -99,6 +115,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
     private static final int COMMIT_INTERVAL = 3; // in s
+    private static final int REPLAY_BATCH_SIZE = 5000;
+    private static final int MAX_SPOOL_SIZE = 1024; // in MB
+    private static final Path SPOOL_FILE = Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb",
+            "spool.dat");
+    private static final String METRIC_PREFIX = "openhab.persistence.influxdb.";
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -112,6 +133,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     // storage
     private final ScheduledFuture<?> storeJob;
     private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final @Nullable InfluxDBSpool spool;
+
+    // metrics
+    private volatile @Nullable MeterRegistry meterRegistry;
+    private final List<Meter> meters = new CopyOnWriteArrayList<>();
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -124,6 +150,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.spool = createSpool();
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
@@ -136,6 +163,20 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         logger.info("InfluxDB persistence service started.");
     }
 
+    private @Nullable InfluxDBSpool createSpool() {
+        int spoolSize = Math.min(configuration.getSpoolSize(), MAX_SPOOL_SIZE);
+        if (spoolSize == 0) {
+            return null;
+        }
+        try {
+            return new InfluxDBSpool(SPOOL_FILE, spoolSize * 1024 * 1024);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to open InfluxDB spool file {}, points will only be buffered in memory: {}", SPOOL_FILE,
+                    e.getMessage());
+            return null;
+        }
+    }
+
     // Visible for testing
     protected InfluxDBRepository createInfluxDBRepository() throws IllegalArgumentException {
         return switch (configuration.getVersion()) {
@@ -155,7 +196,17 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            // keep everything that has not been written for the next start
+            List<InfluxPoint> points = new ArrayList<>();
+            pointsQueue.drainTo(points);
+            spool.append(points);
+            if (!spool.isEmpty()) {
+                logger.info("InfluxDB keeps {} points in the spool until the next start.", spool.getPointCount());
+            }
+            spool.close();
+        } else if (!pointsQueue.isEmpty()) {
             logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
         }
 
@@ -244,15 +295,89 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 return List.of();
             }
 
-            List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
-                    configuration.getRetentionPolicy());
-            return results.stream().map(this::mapRowToHistoricItem).collect(Collectors.toList());
+            // rows are converted while they are received, without collecting the raw result first
+            List<HistoricItem> items = new ArrayList<>();
+            influxDBRepository.query(filter, configuration.getRetentionPolicy(),
+                    row -> items.add(mapRowToHistoricItem(row)));
+            return items;
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
             return List.of();
         }
     }
 
+    /**
+     * Queries the database and passes each value to the consumer as soon as it has been received, so that large
+     * results do not have to be held in memory. The consumer may be called from a thread of the InfluxDB client, this
+     * method returns after the last value has been passed.
+     *
+     * @param filter the filter to apply to the query
+     * @param consumer the consumer of the values, called in result order
+     * @return true if the query completed successfully
+     */
+    public boolean query(FilterCriteria filter, Consumer<HistoricItem> consumer) {
+        if (!serviceActivated || !checkConnection()) {
+            logger.debug("Query for persisted data ignored, InfluxDB is not connected");
+            return false;
+        }
+        if (filter.getItemName() == null) {
+            logger.warn("Item name is missing in filter {} when querying data.", filter);
+            return false;
+        }
+        return influxDBRepository.query(filter, configuration.getRetentionPolicy(),
+                row -> consumer.accept(mapRowToHistoricItem(row)));
+    }
+
+    /**
+     * Queries the database for aggregated values. The aggregation is performed by the database
+     * ({@code aggregateWindow()} in Flux, {@code GROUP BY time()} in InfluxQL), so only the aggregated values are
+     * transferred.
+     *
+     * @param filter the filter to apply to the query, paging is only applied to bucketed results
+     * @param function the aggregation function, numeric functions are only supported for number items
+     * @param bucket the length of the time buckets, at least one second, or null to aggregate the whole time range into
+     *            a single value
+     * @return one value per non-empty bucket, labelled with the start of the bucket
+     */
+    public Iterable<HistoricItem> query(FilterCriteria filter, AggregationFunction function,
+            @Nullable Duration bucket) {
+        if (!serviceActivated || !checkConnection()) {
+            logger.debug("Query for persisted data ignored, InfluxDB is not connected");
+            return List.of();
+        }
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            logger.warn("Item name is missing in filter {} when querying data.", filter);
+            return List.of();
+        }
+        if (function.isNumeric() && !isNumberItem(itemName)) {
+            logger.warn("Aggregation function {} is not supported for item '{}'", function, itemName);
+            return List.of();
+        }
+        if (bucket != null && bucket.getSeconds() < 1) {
+            logger.warn("Bucket length {} is too short, must be at least one second", bucket);
+            return List.of();
+        }
+
+        List<InfluxDBRepository.InfluxRow> rows = influxDBRepository.queryAggregate(filter,
+                configuration.getRetentionPolicy(), function, bucket);
+        if (bucket == null && !function.isSelector()) {
+            // a calculated value for the whole range has no time of its own, use the end of the range
+            Instant time = filter.getEndDate() != null ? filter.getEndDate().toInstant() : Instant.now();
+            rows = rows.stream().map(row -> new InfluxDBRepository.InfluxRow(time, row.itemName(), row.value()))
+                    .toList();
+        }
+        return rows.stream().map(this::mapRowToHistoricItem).collect(Collectors.toList());
+    }
+
+    private boolean isNumberItem(String itemName) {
+        Item item = itemRegistry.get(itemName);
+        if (item instanceof GroupItem groupItem) {
+            item = groupItem.getBaseItem();
+        }
+        return item instanceof NumberItem;
+    }
+
     private HistoricItem mapRowToHistoricItem(InfluxDBRepository.InfluxRow row) {
         State state = InfluxDBStateConvertUtils.objectToState(row.value(), row.itemName(), itemRegistry);
         return new InfluxDBHistoricItem(row.itemName(), state,
@@ -279,7 +404,12 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
+    private synchronized void commit() {
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            commitWithSpool(spool);
+            return;
+        }
         if (!pointsQueue.isEmpty() && checkConnection()) {
             List<InfluxPoint> points = new ArrayList<>();
             pointsQueue.drainTo(points);
@@ -293,6 +423,66 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         }
     }
 
+    private void commitWithSpool(InfluxDBSpool spool) {
+        List<InfluxPoint> points = new ArrayList<>();
+        pointsQueue.drainTo(points);
+        if (!points.isEmpty()) {
+            if (!spool.isEmpty() || !checkConnection()) {
+                // older points are waiting, append to keep the order
+                spool.append(points);
+            } else if (influxDBRepository.write(points)) {
+                logger.trace("Wrote {} elements to database", points.size());
+            } else {
+                logger.warn("Spooling {} elements, failed to write batch.", points.size());
+                spool.append(points);
+                influxDBRepository.disconnect();
+            }
+        }
+
+        while (!spool.isEmpty() && checkConnection()) {
+            InfluxDBSpool.Batch batch = spool.read(REPLAY_BATCH_SIZE);
+            if (!batch.points().isEmpty() && !influxDBRepository.write(batch.points())) {
+                logger.debug("Failed to replay {} spooled elements, retrying later.", batch.points().size());
+                influxDBRepository.disconnect();
+                break;
+            }
+            spool.acknowledge(batch);
+            logger.debug("Replayed {} spooled elements, {} remaining", batch.points().size(), spool.getPointCount());
+        }
+        spool.sync();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        MeterRegistry registry = meterRegistryProvider.getOHMeterRegistry();
+        meters.add(Gauge.builder(METRIC_PREFIX + "queue.size", pointsQueue, BlockingQueue::size)
+                .description("Number of points waiting to be written to InfluxDB").register(registry));
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            meters.add(Gauge.builder(METRIC_PREFIX + "spool.size", spool, InfluxDBSpool::getSize).baseUnit("bytes")
+                    .description("Size of the points in the InfluxDB spool file").register(registry));
+            meters.add(Gauge.builder(METRIC_PREFIX + "spool.points", spool, InfluxDBSpool::getPointCount)
+                    .description("Number of points in the InfluxDB spool file").register(registry));
+            meters.add(FunctionCounter
+                    .builder(METRIC_PREFIX + "spool.replayed", spool, InfluxDBSpool::getReplayedPoints)
+                    .description("Number of spooled points written to InfluxDB").register(registry));
+            meters.add(FunctionCounter
+                    .builder(METRIC_PREFIX + "spool.dropped", spool, InfluxDBSpool::getDroppedPoints)
+                    .description("Number of points dropped because the InfluxDB spool file was full")
+                    .register(registry));
+        }
+        meterRegistry = registry;
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        MeterRegistry registry = meterRegistry;
+        meterRegistry = null;
+        if (registry != null) {
+            meters.forEach(registry::remove);
+        }
+        meters.clear();
+    }
+
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This enum represents the functions available for aggregating values in the database.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public enum AggregationFunction {
+    /**
+     * Average of all values. Only applicable to number items.
+     */
+    AVG("mean", "MEAN"),
+    /**
+     * Lowest value. Only applicable to number items.
+     */
+    MIN("min", "MIN"),
+    /**
+     * Highest value. Only applicable to number items.
+     */
+    MAX("max", "MAX"),
+    /**
+     * Most recent value.
+     */
+    LAST("last", "LAST");
+
+    private final String fluxFunction;
+    private final String influxQLFunction;
+
+    AggregationFunction(String fluxFunction, String influxQLFunction) {
+        this.fluxFunction = fluxFunction;
+        this.influxQLFunction = influxQLFunction;
+    }
+
+    /**
+     * Checks if this function calculates a new value, which requires numeric values.
+     *
+     * @return true for all functions except {@link #LAST}
+     */
+    public boolean isNumeric() {
+        return this != LAST;
+    }
+
+    /**
+     * Checks if this function selects one of the stored points, so that the result keeps the timestamp of that point
+     * when the values are not grouped into time buckets.
+     *
+     * @return true for all functions except {@link #AVG}
+     */
+    public boolean isSelector() {
+        return this != AVG;
+    }
+
+    public String getFluxFunction() {
+        return fluxFunction;
+    }
+
+    public String getInfluxQLFunction() {
+        return influxQLFunction;
+    }
+}
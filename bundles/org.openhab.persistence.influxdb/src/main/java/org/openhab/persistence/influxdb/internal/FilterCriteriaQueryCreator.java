@@ -12,7 +12,10 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.time.Duration;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
 
 /**
@@ -31,6 +34,18 @@ public interface FilterCriteriaQueryCreator {
      */
     String createQuery(FilterCriteria criteria, String retentionPolicy);
 
+    /**
+     * Create a query from {@link FilterCriteria} that aggregates the values in the database
+     *
+     * @param criteria Criteria to create query from, paging is only applied to bucketed results
+     * @param retentionPolicy Name of the retentionPolicy/bucket to use in query
+     * @param function Function used to aggregate the values
+     * @param bucket Length of the time buckets, or <code>null</code> to aggregate all values into a single one
+     * @return Created query as a String
+     */
+    String createAggregateQuery(FilterCriteria criteria, String retentionPolicy, AggregationFunction function,
+            @Nullable Duration bucket);
+
     default String getOperationSymbol(FilterCriteria.Operator operator, InfluxDBVersion version) {
         return switch (operator) {
             case EQ -> "=";
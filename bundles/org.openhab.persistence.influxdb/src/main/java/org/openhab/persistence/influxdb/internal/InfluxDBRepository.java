@@ -12,11 +12,14 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
 
 /**
@@ -68,6 +71,29 @@ public interface InfluxDBRepository {
      */
     List<InfluxRow> query(FilterCriteria filter, String retentionPolicy);
 
+    /**
+     * Executes query, passing each row to the consumer as soon as it has been received instead of collecting the
+     * whole result first
+     *
+     * @param filter the query filter
+     * @param retentionPolicy the retention policy/bucket to query
+     * @param consumer the consumer of the rows, called in result order
+     * @return <code>true</code> if query executed successfully, <code>false</code> otherwise
+     */
+    boolean query(FilterCriteria filter, String retentionPolicy, Consumer<InfluxRow> consumer);
+
+    /**
+     * Executes query aggregating the values in the database, so that only the aggregated values are transferred
+     *
+     * @param filter the query filter
+     * @param retentionPolicy the retention policy/bucket to query
+     * @param function the function used to aggregate the values
+     * @param bucket the length of the time buckets, or <code>null</code> to aggregate all values into a single one
+     * @return Query results, the item name is the one of the filter
+     */
+    List<InfluxRow> queryAggregate(FilterCriteria filter, String retentionPolicy, AggregationFunction function,
+            @Nullable Duration bucket);
+
     /**
      * Write points to database
      *
@@ -0,0 +1,388 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link InfluxDBSpool} is a bounded, append-only queue of {@link InfluxPoint}s in a memory-mapped file. It keeps
+ * points which could not be written to the database across restarts.
+ *
+ * Points are read in the order they were appended and only removed once they are acknowledged, so a failed write can
+ * simply be retried. Space freed at the head of the file is reclaimed by moving the pending points to the front when
+ * an append does not fit anymore. If the file is still full, the oldest points are dropped.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpool implements AutoCloseable {
+    private static final int MAGIC = 0x4f485350; // "OHSP"
+    private static final int HEADER_SIZE = 32;
+    private static final int READ_OFFSET_POSITION = 4;
+    private static final int WRITE_OFFSET_POSITION = 12;
+    private static final int COUNT_POSITION = 20;
+    private static final int COPY_CHUNK_SIZE = 64 * 1024;
+
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpool.class);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private int readOffset = HEADER_SIZE;
+    private int writeOffset = HEADER_SIZE;
+    private int count = 0;
+    private long droppedPoints = 0;
+    private long replayedPoints = 0;
+    // changes whenever pending points are moved or dropped, which invalidates batches read before
+    private int generation = 0;
+
+    /**
+     * A batch of points read from the spool, which has to be acknowledged to remove the points.
+     */
+    public record Batch(List<InfluxPoint> points, int records, int endOffset, int generation) {
+    }
+
+    /**
+     * Opens the spool file or creates it if it does not exist yet. Points pending in an existing file of a different
+     * size are preserved as far as they fit.
+     *
+     * @param file the spool file
+     * @param capacity the size of the spool file in bytes
+     * @throws IOException if the file cannot be opened
+     */
+    public InfluxDBSpool(Path file, int capacity) throws IOException {
+        if (capacity <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Spool capacity too small: " + capacity);
+        }
+        this.capacity = capacity;
+
+        Deque<byte[]> pendingRecords = new ArrayDeque<>();
+        if (Files.exists(file) && Files.size(file) != capacity) {
+            // the size has been changed, re-create the file with the pending points
+            readRecords(file, pendingRecords);
+            Files.delete(file);
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        if (buffer.getInt(0) == MAGIC && isValidHeader()) {
+            readOffset = (int) buffer.getLong(READ_OFFSET_POSITION);
+            writeOffset = (int) buffer.getLong(WRITE_OFFSET_POSITION);
+            count = buffer.getInt(COUNT_POSITION);
+        } else {
+            buffer.putInt(0, MAGIC);
+            writeHeader();
+        }
+        for (byte[] record : pendingRecords) {
+            appendRecord(record);
+        }
+        writeHeader();
+        if (count > 0) {
+            logger.info("InfluxDB spool {} contains {} points", file, count);
+        }
+    }
+
+    private boolean isValidHeader() {
+        long storedReadOffset = buffer.getLong(READ_OFFSET_POSITION);
+        long storedWriteOffset = buffer.getLong(WRITE_OFFSET_POSITION);
+        return storedReadOffset >= HEADER_SIZE && storedReadOffset <= storedWriteOffset
+                && storedWriteOffset <= capacity && buffer.getInt(COUNT_POSITION) >= 0;
+    }
+
+    private void readRecords(Path file, Deque<byte[]> records) throws IOException {
+        try (FileChannel oldChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            oldChannel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+                return;
+            }
+            long offset = header.getLong(READ_OFFSET_POSITION);
+            long end = Math.min(header.getLong(WRITE_OFFSET_POSITION), oldChannel.size());
+            int size = 0;
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            while (offset + Integer.BYTES <= end) {
+                length.clear();
+                oldChannel.read(length, offset);
+                int recordLength = length.getInt(0);
+                if (recordLength <= 0 || offset + Integer.BYTES + recordLength > end) {
+                    break;
+                }
+                ByteBuffer record = ByteBuffer.allocate(recordLength);
+                oldChannel.read(record, offset + Integer.BYTES);
+                records.addLast(record.array());
+                size += Integer.BYTES + recordLength;
+                offset += Integer.BYTES + recordLength;
+                // keep the newest records that fit into the new file
+                while (size > capacity - HEADER_SIZE && !records.isEmpty()) {
+                    size -= Integer.BYTES + records.removeFirst().length;
+                    droppedPoints++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends points to the spool. If the spool is full, the oldest points are dropped.
+     *
+     * @param points the points to append
+     */
+    public synchronized void append(List<InfluxPoint> points) {
+        for (InfluxPoint point : points) {
+            try {
+                appendRecord(encode(point));
+            } catch (IOException e) {
+                logger.warn("Failed to spool {}: {}", point, e.getMessage());
+            }
+        }
+        writeHeader();
+    }
+
+    private void appendRecord(byte[] record) {
+        int required = Integer.BYTES + record.length;
+        if (required > capacity - HEADER_SIZE) {
+            droppedPoints++;
+            return;
+        }
+        if (writeOffset + required > capacity) {
+            // drop the oldest points until the record fits, then move the pending points to the front
+            while (writeOffset - readOffset + required > capacity - HEADER_SIZE) {
+                readOffset += Integer.BYTES + buffer.getInt(readOffset);
+                count--;
+                droppedPoints++;
+            }
+            compact();
+            generation++;
+        }
+        buffer.putInt(writeOffset, record.length);
+        buffer.put(writeOffset + Integer.BYTES, record);
+        writeOffset += required;
+        count++;
+    }
+
+    private void compact() {
+        int length = writeOffset - readOffset;
+        byte[] chunk = new byte[Math.min(COPY_CHUNK_SIZE, Math.max(length, 1))];
+        // the target is always before the source, so copying from front to back is safe
+        for (int copied = 0; copied < length; copied += chunk.length) {
+            int chunkLength = Math.min(chunk.length, length - copied);
+            buffer.get(readOffset + copied, chunk, 0, chunkLength);
+            buffer.put(HEADER_SIZE + copied, chunk, 0, chunkLength);
+        }
+        readOffset = HEADER_SIZE;
+        writeOffset = HEADER_SIZE + length;
+    }
+
+    /**
+     * Reads the oldest points from the spool without removing them.
+     *
+     * @param maxPoints the maximum number of points to read
+     * @return the batch of points, which has to be passed to {@link #acknowledge(Batch)} to remove them
+     */
+    public synchronized Batch read(int maxPoints) {
+        List<InfluxPoint> points = new ArrayList<>(Math.min(maxPoints, count));
+        int offset = readOffset;
+        int records = 0;
+        while (records < maxPoints && offset < writeOffset) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + Integer.BYTES + length > writeOffset) {
+                logger.warn("InfluxDB spool is corrupted, discarding {} points", count - records);
+                offset = writeOffset;
+                records = count;
+                break;
+            }
+            byte[] record = new byte[length];
+            buffer.get(offset + Integer.BYTES, record);
+            offset += Integer.BYTES + length;
+            records++;
+            InfluxPoint point = decode(record);
+            if (point != null) {
+                points.add(point);
+            }
+        }
+        return new Batch(points, records, offset, generation);
+    }
+
+    /**
+     * Removes the points of a batch from the spool after they have been written to the database.
+     *
+     * @param batch the batch returned by {@link #read(int)}
+     */
+    public synchronized void acknowledge(Batch batch) {
+        if (batch.generation() != generation) {
+            // points have been dropped in the meantime, the batch is no longer valid
+            return;
+        }
+        readOffset = batch.endOffset();
+        count -= batch.records();
+        replayedPoints += batch.points().size();
+        if (readOffset == writeOffset) {
+            // the spool is empty, start again at the front
+            readOffset = HEADER_SIZE;
+            writeOffset = HEADER_SIZE;
+            count = 0;
+        }
+        writeHeader();
+    }
+
+    /**
+     * Writes all changes to the storage device.
+     */
+    public synchronized void sync() {
+        buffer.force();
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    public synchronized int getPointCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of bytes used by pending points
+     */
+    public synchronized int getSize() {
+        return writeOffset - readOffset;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getDroppedPoints() {
+        return droppedPoints;
+    }
+
+    public synchronized long getReplayedPoints() {
+        return replayedPoints;
+    }
+
+    @Override
+    public synchronized void close() {
+        writeHeader();
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close InfluxDB spool: {}", e.getMessage());
+        }
+    }
+
+    private void writeHeader() {
+        buffer.putLong(READ_OFFSET_POSITION, readOffset);
+        buffer.putLong(WRITE_OFFSET_POSITION, writeOffset);
+        buffer.putInt(COUNT_POSITION, count);
+    }
+
+    private static byte[] encode(InfluxPoint point) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(point.getMeasurementName());
+            out.writeLong(point.getTime().getEpochSecond());
+            out.writeInt(point.getTime().getNano());
+            Object value = point.getValue();
+            if (value instanceof BigDecimal decimal) {
+                out.writeByte(TYPE_DECIMAL);
+                out.writeUTF(decimal.toString());
+            } else if (value instanceof Long longValue) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Integer integerValue) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt(integerValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(doubleValue);
+            } else if (value instanceof Boolean booleanValue) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(booleanValue);
+            } else {
+                out.writeByte(TYPE_STRING);
+                byte[] string = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(string.length);
+                out.write(string);
+            }
+            Map<String, String> tags = point.getTags();
+            out.writeShort(tags.size());
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                out.writeUTF(tag.getKey());
+                out.writeUTF(tag.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private @Nullable InfluxPoint decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(in.readUTF())
+                    .withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            byte type = in.readByte();
+            switch (type) {
+                case TYPE_DECIMAL -> builder.withValue(new BigDecimal(in.readUTF()));
+                case TYPE_LONG -> builder.withValue(in.readLong());
+                case TYPE_INTEGER -> builder.withValue(in.readInt());
+                case TYPE_DOUBLE -> builder.withValue(in.readDouble());
+                case TYPE_BOOLEAN -> builder.withValue(in.readBoolean());
+                case TYPE_STRING -> {
+                    byte[] string = new byte[in.readInt()];
+                    in.readFully(string);
+                    builder.withValue(new String(string, StandardCharsets.UTF_8));
+                }
+                default -> throw new IOException("Unknown value type " + type);
+            }
+            int tags = in.readUnsignedShort();
+            for (int i = 0; i < tags; i++) {
+                builder.withTag(in.readUTF(), in.readUTF());
+            }
+            return builder.build();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Discarding unreadable point from InfluxDB spool: {}", e.getMessage());
+            return null;
+        }
+    }
+}
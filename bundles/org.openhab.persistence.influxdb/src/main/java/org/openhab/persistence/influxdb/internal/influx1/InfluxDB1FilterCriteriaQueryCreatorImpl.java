@@ -16,6 +16,9 @@ import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -27,6 +30,7 @@ import org.influxdb.querybuilder.Where;
 import org.influxdb.querybuilder.clauses.SimpleClause;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.types.State;
+import org.openhab.persistence.influxdb.internal.AggregationFunction;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
@@ -94,6 +98,56 @@ public class InfluxDB1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
         return ((Query) select).getCommand();
     }
 
+    @Override
+    public String createAggregateQuery(FilterCriteria criteria, String retentionPolicy, AggregationFunction function,
+            @Nullable Duration bucket) {
+        final String itemName = Objects.requireNonNull(criteria.getItemName()); // we checked non-null before
+        final String tableName = getTableName(itemName);
+
+        List<String> conditions = new ArrayList<>();
+        if (!tableName.equals(itemName)) {
+            conditions.add(TAG_ITEM_NAME + " = " + quote(itemName));
+        }
+        if (criteria.getBeginDate() != null) {
+            conditions.add(COLUMN_TIME_NAME_V1 + " >= " + quote(criteria.getBeginDate().toInstant().toString()));
+        }
+        if (criteria.getEndDate() != null) {
+            conditions.add(COLUMN_TIME_NAME_V1 + " <= " + quote(criteria.getEndDate().toInstant().toString()));
+        }
+        State filterState = criteria.getState();
+        if (filterState != null && criteria.getOperator() != null) {
+            Object value = stateToObject(filterState);
+            conditions.add(COLUMN_VALUE_NAME_V1 + " " + getOperationSymbol(criteria.getOperator(), InfluxDBVersion.V1)
+                    + " " + (value instanceof String string ? quote(string) : value));
+        }
+
+        // the aggregate keeps the name of the value column, so the result can be read like a raw query result
+        StringBuilder query = new StringBuilder("SELECT ");
+        query.append(function.getInfluxQLFunction()).append("(\"").append(COLUMN_VALUE_NAME_V1).append("\") AS \"")
+                .append(COLUMN_VALUE_NAME_V1).append("\" FROM ")
+                .append(fullQualifiedTableName(retentionPolicy, tableName, true));
+        if (!conditions.isEmpty()) {
+            query.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        if (bucket != null) {
+            query.append(" GROUP BY time(").append(bucket.toSeconds()).append("s) fill(none)");
+            if (criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING) {
+                query.append(" ORDER BY time DESC");
+            }
+            if (criteria.getPageSize() != Integer.MAX_VALUE) {
+                query.append(" LIMIT ").append(criteria.getPageSize());
+                if (criteria.getPageNumber() != 0) {
+                    query.append(" OFFSET ").append((long) criteria.getPageSize() * criteria.getPageNumber());
+                }
+            }
+        }
+        return query.append(';').toString();
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
     private String getTableName(@Nullable String itemName) {
         if (itemName == null) {
             return "/.*/";
@@ -17,6 +17,7 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.COLUMN
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.TAG_ITEM_NAME;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -25,6 +26,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -37,6 +39,7 @@ import org.influxdb.dto.Pong;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.internal.AggregationFunction;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
@@ -169,10 +172,38 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
 
     @Override
     public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+        List<InfluxRow> rows = executeQuery(filter, queryCreator.createQuery(filter, retentionPolicy));
+        return rows != null ? rows : List.of();
+    }
+
+    @Override
+    public boolean query(FilterCriteria filter, String retentionPolicy, Consumer<InfluxRow> consumer) {
+        // the 1.x client returns complete results, so the rows can only be passed on after they have been received
+        List<InfluxRow> rows = executeQuery(filter, queryCreator.createQuery(filter, retentionPolicy));
+        if (rows == null) {
+            return false;
+        }
+        rows.forEach(consumer);
+        return true;
+    }
+
+    @Override
+    public List<InfluxRow> queryAggregate(FilterCriteria filter, String retentionPolicy, AggregationFunction function,
+            @Nullable Duration bucket) {
+        String itemName = Objects.requireNonNull(filter.getItemName());
+        List<InfluxRow> rows = executeQuery(filter,
+                queryCreator.createAggregateQuery(filter, retentionPolicy, function, bucket));
+        if (rows == null) {
+            return List.of();
+        }
+        // aggregated series are named after the measurement, which may differ from the item name
+        return rows.stream().map(row -> new InfluxRow(row.time(), itemName, row.value())).toList();
+    }
+
+    private @Nullable List<InfluxRow> executeQuery(FilterCriteria filter, String query) {
         try {
             final InfluxDB currentClient = client;
             if (currentClient != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy);
                 logger.trace("Query {}", query);
                 Query parsedQuery = new Query(query, configuration.getDatabaseName());
                 List<QueryResult.Result> results = currentClient.query(parsedQuery, TimeUnit.MILLISECONDS).getResults();
@@ -182,7 +213,7 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
             }
         } catch (InfluxException | InfluxDBException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+            return null;
         }
     }
 
@@ -17,12 +17,15 @@ import static com.influxdb.query.dsl.functions.restriction.Restrictions.tag;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.types.State;
+import org.openhab.persistence.influxdb.internal.AggregationFunction;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
@@ -50,6 +53,59 @@ public class InfluxDB2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
 
     @Override
     public String createQuery(FilterCriteria criteria, String retentionPolicy) {
+        Flux flux = createRangeQuery(criteria, retentionPolicy);
+
+        String itemName = Objects.requireNonNull(criteria.getItemName()); // we checked non-null before
+        String measurementName = getMeasurementName(itemName);
+        flux = flux.filter(measurement().equal(measurementName));
+        if (!measurementName.equals(itemName)) {
+            flux = flux.filter(tag(TAG_ITEM_NAME).equal(itemName));
+            flux = flux.keep(
+                    new String[] { FIELD_MEASUREMENT_NAME, COLUMN_TIME_NAME_V2, COLUMN_VALUE_NAME_V2, TAG_ITEM_NAME });
+        } else {
+            flux = flux.keep(new String[] { FIELD_MEASUREMENT_NAME, COLUMN_TIME_NAME_V2, COLUMN_VALUE_NAME_V2 });
+        }
+
+        flux = applyStateFilter(criteria, flux);
+        flux = applyOrderingAndPageSize(criteria, flux);
+
+        return flux.toString();
+    }
+
+    @Override
+    public String createAggregateQuery(FilterCriteria criteria, String retentionPolicy, AggregationFunction function,
+            @Nullable Duration bucket) {
+        Flux flux = createRangeQuery(criteria, retentionPolicy);
+
+        String itemName = Objects.requireNonNull(criteria.getItemName()); // we checked non-null before
+        String measurementName = getMeasurementName(itemName);
+        flux = flux.filter(measurement().equal(measurementName));
+        if (!measurementName.equals(itemName)) {
+            flux = flux.filter(tag(TAG_ITEM_NAME).equal(itemName));
+        }
+        if (criteria.getState() != null && criteria.getOperator() != null) {
+            flux = applyStateFilter(criteria, flux);
+        } else {
+            flux = flux.filter(Restrictions.field().equal(FIELD_VALUE_NAME));
+        }
+        // merge all series of the item, so that tag changes do not split the aggregation
+        flux = flux.keep(new String[] { COLUMN_TIME_NAME_V2, COLUMN_VALUE_NAME_V2 }).expression("group()");
+        // group() does not keep the rows ordered by time, which last() and first() rely on
+        flux = flux.sort(new String[] { COLUMN_TIME_NAME_V2 });
+
+        if (bucket != null) {
+            // buckets are labelled with their start, like GROUP BY time() does in InfluxQL
+            flux = flux.expression("aggregateWindow(every: " + bucket.toSeconds() + "s, fn: "
+                    + function.getFluxFunction() + ", createEmpty: false, timeSrc: \"" + COLUMN_START_NAME_V2 + "\")");
+            flux = applyOrderingAndPageSize(criteria, flux);
+        } else {
+            flux = flux.expression(function.getFluxFunction() + "()");
+        }
+
+        return flux.toString();
+    }
+
+    private Flux createRangeQuery(FilterCriteria criteria, String retentionPolicy) {
         Flux flux = Flux.from(retentionPolicy);
 
         RangeFlux range = flux.range();
@@ -63,20 +119,15 @@ public class InfluxDB2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
         } else {
             range.withStop(100L, ChronoUnit.YEARS);
         }
-        flux = range;
+        return range;
+    }
 
-        String itemName = Objects.requireNonNull(criteria.getItemName()); // we checked non-null before
+    private String getMeasurementName(String itemName) {
         String name = influxDBMetadataService.getMeasurementNameOrDefault(itemName, itemName);
-        String measurementName = configuration.isReplaceUnderscore() ? name.replace('_', '.') : name;
-        flux = flux.filter(measurement().equal(measurementName));
-        if (!measurementName.equals(itemName)) {
-            flux = flux.filter(tag(TAG_ITEM_NAME).equal(itemName));
-            flux = flux.keep(
-                    new String[] { FIELD_MEASUREMENT_NAME, COLUMN_TIME_NAME_V2, COLUMN_VALUE_NAME_V2, TAG_ITEM_NAME });
-        } else {
-            flux = flux.keep(new String[] { FIELD_MEASUREMENT_NAME, COLUMN_TIME_NAME_V2, COLUMN_VALUE_NAME_V2 });
-        }
+        return configuration.isReplaceUnderscore() ? name.replace('_', '.') : name;
+    }
 
+    private Flux applyStateFilter(FilterCriteria criteria, Flux flux) {
         State filterState = criteria.getState();
         if (filterState != null && criteria.getOperator() != null) {
             Restrictions restrictions = Restrictions.and(Restrictions.field().equal(FIELD_VALUE_NAME),
@@ -84,10 +135,7 @@ public class InfluxDB2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
                             getOperationSymbol(criteria.getOperator(), InfluxDBVersion.V2)));
             flux = flux.filter(restrictions);
         }
-
-        flux = applyOrderingAndPageSize(criteria, flux);
-
-        return flux.toString();
+        return flux;
     }
 
     private Flux applyOrderingAndPageSize(FilterCriteria criteria, Flux flux) {
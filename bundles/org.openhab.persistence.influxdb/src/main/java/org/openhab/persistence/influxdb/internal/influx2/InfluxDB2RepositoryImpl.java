@@ -14,21 +14,26 @@ package org.openhab.persistence.influxdb.internal.influx2;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.influxdb.InfluxDBIOException;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.internal.AggregationFunction;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBConstants;
@@ -48,6 +53,7 @@ import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 import com.influxdb.exceptions.InfluxException;
+import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
 
 /**
@@ -214,32 +220,69 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
 
     @Override
     public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+        List<InfluxRow> rows = new ArrayList<>();
+        return query(filter, retentionPolicy, rows::add) ? rows : List.of();
+    }
+
+    @Override
+    public boolean query(FilterCriteria filter, String retentionPolicy, Consumer<InfluxRow> consumer) {
+        String query = queryCreator.createQuery(filter, retentionPolicy);
+        return streamQuery(filter, query, record -> consumer.accept(mapRecordToRow(record, null)));
+    }
+
+    @Override
+    public List<InfluxRow> queryAggregate(FilterCriteria filter, String retentionPolicy, AggregationFunction function,
+            @Nullable Duration bucket) {
+        String itemName = Objects.requireNonNull(filter.getItemName());
+        String query = queryCreator.createAggregateQuery(filter, retentionPolicy, function, bucket);
+        List<InfluxRow> rows = new ArrayList<>();
+        return streamQuery(filter, query, record -> rows.add(mapRecordToRow(record, itemName))) ? rows : List.of();
+    }
+
+    /**
+     * Executes a query with the callback API of the client, so that records are processed while they are received
+     * instead of materializing all tables first. Blocks until the query has completed.
+     */
+    private boolean streamQuery(FilterCriteria filter, String query, Consumer<FluxRecord> consumer) {
+        final QueryApi currentQueryAPI = queryAPI;
+        if (currentQueryAPI == null) {
+            logger.warn("Failed to execute query '{}': API not present", filter);
+            return false;
+        }
+        logger.trace("Query {}", query);
+        CompletableFuture<@Nullable Void> completion = new CompletableFuture<>();
         try {
-            final QueryApi currentQueryAPI = queryAPI;
-            if (currentQueryAPI != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy);
-                logger.trace("Query {}", query);
-                List<FluxTable> clientResult = currentQueryAPI.query(query);
-                return clientResult.stream().flatMap(this::mapRawResultToHistoric).toList();
-            } else {
-                throw new InfluxException("API not present");
-            }
+            currentQueryAPI.query(query, (cancellable, record) -> {
+                try {
+                    consumer.accept(record);
+                } catch (RuntimeException e) {
+                    cancellable.cancel();
+                    completion.completeExceptionally(e);
+                }
+            }, completion::completeExceptionally, () -> completion.complete(null));
+            completion.get();
+            return true;
         } catch (InfluxException | InfluxDBIOException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+        } catch (ExecutionException e) {
+            logger.warn("Failed to execute query '{}': {}", filter, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        return false;
     }
 
-    private Stream<InfluxRow> mapRawResultToHistoric(FluxTable rawRow) {
-        return rawRow.getRecords().stream().map(r -> {
-            String itemName = (String) r.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
+    private InfluxRow mapRecordToRow(FluxRecord record, @Nullable String itemName) {
+        if (itemName == null) {
+            itemName = (String) record.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
             if (itemName == null) {
-                itemName = r.getMeasurement();
+                itemName = record.getMeasurement();
             }
-            Object value = r.getValueByKey(COLUMN_VALUE_NAME_V2);
-            Instant time = (Instant) r.getValueByKey(COLUMN_TIME_NAME_V2);
-            return new InfluxRow(time, itemName, value);
-        });
+        }
+        Object value = record.getValueByKey(COLUMN_VALUE_NAME_V2);
+        // values aggregated over the whole range have no time of their own
+        Instant time = Objects.requireNonNullElse((Instant) record.getValueByKey(COLUMN_TIME_NAME_V2), Instant.EPOCH);
+        return new InfluxRow(time, itemName, value);
     }
 
     @Override
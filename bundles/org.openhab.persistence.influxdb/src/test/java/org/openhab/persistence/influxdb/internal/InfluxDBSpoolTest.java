@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpoolTest {
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    private static InfluxPoint point(int i) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochMilli(1000L * i))
+                .withValue(new BigDecimal(i)).withTag("item", "item" + i).build();
+    }
+
+    private static List<InfluxPoint> points(int from, int to) {
+        return IntStream.range(from, to).mapToObj(InfluxDBSpoolTest::point).toList();
+    }
+
+    private static List<Object> values(List<InfluxPoint> points) {
+        return points.stream().map(InfluxPoint::getValue).toList();
+    }
+
+    @Test
+    public void pointsAreReadInOrderUntilAcknowledged() throws IOException {
+        try (InfluxDBSpool spool = new InfluxDBSpool(tempDir.resolve("spool.dat"), 64 * 1024)) {
+            spool.append(points(0, 10));
+
+            InfluxDBSpool.Batch batch = spool.read(4);
+            assertThat(values(batch.points()), is(values(points(0, 4))));
+            assertThat(batch.points().get(1).getTags().get("item"), is("item1"));
+            assertThat(batch.points().get(1).getTime(), is(Instant.ofEpochMilli(1000)));
+
+            // not acknowledged, so the same points are read again
+            assertThat(values(spool.read(4).points()), is(values(points(0, 4))));
+
+            spool.acknowledge(batch);
+            assertThat(spool.getPointCount(), is(6));
+            assertThat(values(spool.read(100).points()), is(values(points(4, 10))));
+        }
+    }
+
+    @Test
+    public void pointsArePreservedWhenReopened() throws IOException {
+        Path file = tempDir.resolve("spool.dat");
+        try (InfluxDBSpool spool = new InfluxDBSpool(file, 64 * 1024)) {
+            spool.append(points(0, 10));
+            spool.acknowledge(spool.read(3));
+        }
+        try (InfluxDBSpool spool = new InfluxDBSpool(file, 64 * 1024)) {
+            assertThat(values(spool.read(100).points()), is(values(points(3, 10))));
+        }
+        // a changed size keeps the pending points as well
+        try (InfluxDBSpool spool = new InfluxDBSpool(file, 32 * 1024)) {
+            assertThat(values(spool.read(100).points()), is(values(points(3, 10))));
+        }
+    }
+
+    @Test
+    public void oldestPointsAreDroppedWhenFull() throws IOException {
+        try (InfluxDBSpool spool = new InfluxDBSpool(tempDir.resolve("spool.dat"), 4 * 1024)) {
+            spool.append(points(0, 1000));
+
+            assertThat(spool.getDroppedPoints(), is(greaterThan(0L)));
+            assertThat((long) spool.getPointCount() + spool.getDroppedPoints(), is(1000L));
+            assertThat(spool.getSize(), is(lessThanOrEqualTo(4 * 1024)));
+
+            List<InfluxPoint> remaining = spool.read(1000).points();
+            assertThat(values(remaining), is(values(points(1000 - remaining.size(), 1000))));
+        }
+    }
+
+    @Test
+    public void spaceIsReclaimedAfterAcknowledge() throws IOException {
+        try (InfluxDBSpool spool = new InfluxDBSpool(tempDir.resolve("spool.dat"), 4 * 1024)) {
+            for (int i = 0; i < 100; i++) {
+                spool.append(points(i * 10, i * 10 + 10));
+                spool.acknowledge(spool.read(5));
+            }
+
+            assertThat(spool.getDroppedPoints(), is(greaterThan(0L)));
+            spool.acknowledge(spool.read(1000));
+            assertThat(spool.isEmpty(), is(true));
+
+            spool.append(points(0, 10));
+            assertThat(spool.getDroppedPoints() + spool.getReplayedPoints(), is(1000L));
+            assertThat(values(spool.read(100).points()), is(values(points(0, 10))));
+        }
+    }
+}
@@ -16,6 +16,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -227,4 +228,79 @@ public class InfluxFilterCriteriaQueryCreatorImplTest {
                 \t|> keep(columns:["_measurement", "_time", "_value"])
                 \t|> sort(desc:true, columns:["_time"])"""));
     }
+
+    @Test
+    public void testAggregateQueryWithBuckets() {
+        FilterCriteria criteria = createBaseCriteria();
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime tomorrow = now.plus(1, ChronoUnit.DAYS);
+        criteria.setBeginDate(now);
+        criteria.setEndDate(tomorrow);
+
+        String queryV1 = instanceV1.createAggregateQuery(criteria, RETENTION_POLICY, AggregationFunction.AVG,
+                Duration.ofHours(1));
+        String expectedQueryV1 = String.format(
+                "SELECT MEAN(\"value\") AS \"value\" FROM \"origin\".\"sampleItem\" WHERE time >= '%s' AND time <= '%s' GROUP BY time(3600s) fill(none) ORDER BY time DESC;",
+                now.toInstant(), tomorrow.toInstant());
+        assertThat(queryV1, equalTo(expectedQueryV1));
+
+        String queryV2 = instanceV2.createAggregateQuery(criteria, RETENTION_POLICY, AggregationFunction.AVG,
+                Duration.ofHours(1));
+        String expectedQueryV2 = String.format("""
+                from(bucket:"origin")
+                \t|> range(start:%s, stop:%s)
+                \t|> filter(fn: (r) => r["_measurement"] == "sampleItem")
+                \t|> filter(fn: (r) => r["_field"] == "value")
+                \t|> keep(columns:["_time", "_value"])
+                \t|> group()
+                \t|> sort(columns:["_time"])
+                \t|> aggregateWindow(every: 3600s, fn: mean, createEmpty: false, timeSrc: "_start")
+                \t|> sort(desc:true, columns:["_time"])""", INFLUX2_DATE_FORMATTER.format(now.toInstant()),
+                INFLUX2_DATE_FORMATTER.format(tomorrow.toInstant()));
+        assertThat(queryV2, equalTo(expectedQueryV2));
+    }
+
+    @Test
+    public void testAggregateQueryWithoutBuckets() {
+        FilterCriteria criteria = createBaseCriteria();
+        MetadataKey metadataKey = new MetadataKey(InfluxDBPersistenceService.SERVICE_NAME, "sampleItem");
+        when(metadataRegistry.get(metadataKey))
+                .thenReturn(new Metadata(metadataKey, "measurementName", Map.of("key1", "val1", "key2", "val2")));
+
+        String queryV1 = instanceV1.createAggregateQuery(criteria, RETENTION_POLICY, AggregationFunction.MAX, null);
+        assertThat(queryV1, equalTo(
+                "SELECT MAX(\"value\") AS \"value\" FROM \"origin\".\"measurementName\" WHERE item = 'sampleItem';"));
+
+        String queryV2 = instanceV2.createAggregateQuery(criteria, RETENTION_POLICY, AggregationFunction.MAX, null);
+        assertThat(queryV2, equalTo("""
+                from(bucket:"origin")
+                \t|> range(start:-100y, stop:100y)
+                \t|> filter(fn: (r) => r["_measurement"] == "measurementName")
+                \t|> filter(fn: (r) => r["item"] == "sampleItem")
+                \t|> filter(fn: (r) => r["_field"] == "value")
+                \t|> keep(columns:["_time", "_value"])
+                \t|> group()
+                \t|> sort(columns:["_time"])
+                \t|> max()"""));
+    }
+
+    @Test
+    public void testAggregateQueryLastSortsMergedSeriesByTime() {
+        FilterCriteria criteria = createBaseCriteria();
+        MetadataKey metadataKey = new MetadataKey(InfluxDBPersistenceService.SERVICE_NAME, "sampleItem");
+        when(metadataRegistry.get(metadataKey))
+                .thenReturn(new Metadata(metadataKey, "measurementName", Map.of("key1", "val1")));
+
+        String queryV2 = instanceV2.createAggregateQuery(criteria, RETENTION_POLICY, AggregationFunction.LAST, null);
+        assertThat(queryV2, equalTo("""
+                from(bucket:"origin")
+                \t|> range(start:-100y, stop:100y)
+                \t|> filter(fn: (r) => r["_measurement"] == "measurementName")
+                \t|> filter(fn: (r) => r["item"] == "sampleItem")
+                \t|> filter(fn: (r) => r["_field"] == "value")
+                \t|> keep(columns:["_time", "_value"])
+                \t|> group()
+                \t|> sort(columns:["_time"])
+                \t|> last()"""));
+    }
 }
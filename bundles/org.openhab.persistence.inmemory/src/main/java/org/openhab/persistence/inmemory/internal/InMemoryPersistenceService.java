@@ -13,18 +13,16 @@
 package org.openhab.persistence.inmemory.internal;
 
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -69,7 +67,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
-    private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
+    private final Map<String, InMemoryTimeSeries> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
 
     @Activate
@@ -82,17 +80,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
 
-        persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
-            lock.lock();
-            try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
-            } finally {
-                lock.unlock();
-            }
-        });
+        persistMap.values().forEach(timeSeries -> timeSeries.trim(maxEntries));
     }
 
     @Deactivate
@@ -112,7 +100,8 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return persistMap.entrySet().stream().map(this::toItemInfo).collect(Collectors.toSet());
+        return persistMap.entrySet().stream().map(this::toItemInfo).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 
     @Override
@@ -143,19 +132,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        PersistItem persistItem = persistMap.get(itemName);
-        if (persistItem == null) {
+        InMemoryTimeSeries timeSeries = persistMap.get(itemName);
+        if (timeSeries == null) {
             return false;
         }
 
-        Lock lock = persistItem.lock();
-        lock.lock();
-        try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
-        } finally {
-            lock.unlock();
-        }
+        timeSeries.remove(beginOf(filter), endOf(filter), state -> applies(state, filter));
         return true;
     }
 
@@ -166,24 +148,18 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        PersistItem persistItem = persistMap.get(itemName);
-        if (persistItem == null) {
+        InMemoryTimeSeries timeSeries = persistMap.get(itemName);
+        if (timeSeries == null) {
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
-        lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
-
-        try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
-                    .map(e -> toHistoricItem(itemName, e)).toList();
-        } finally {
-            lock.unlock();
+        // entries are returned in ascending order
+        List<InMemoryTimeSeries.Entry> entries = timeSeries.query(beginOf(filter), endOf(filter));
+        if (filter.getOrdering() != FilterCriteria.Ordering.ASCENDING) {
+            Collections.reverse(entries);
         }
+        return entries.stream().filter(e -> applies(e.state(), filter)).map(e -> toHistoricItem(itemName, e))
+                .toList();
     }
 
     @Override
@@ -192,46 +168,46 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return List.of(PersistenceStrategy.Globals.FORECAST);
     }
 
-    private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
-        lock.lock();
-        try {
-            String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
-            return new PersistenceItemInfo() {
-
-                @Override
-                public String getName() {
-                    return name;
-                }
-
-                @Override
-                public @Nullable Integer getCount() {
-                    return count;
-                }
-
-                @Override
-                public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
-                }
-
-                @Override
-                public @Nullable Date getLatest() {
-                    return Date.from(latest);
-                }
-            };
-        } finally {
-            lock.unlock();
+    private @Nullable PersistenceItemInfo toItemInfo(Map.Entry<String, InMemoryTimeSeries> itemEntry) {
+        InMemoryTimeSeries.Info info = itemEntry.getValue().info();
+        if (info == null) {
+            return null;
         }
+        String name = itemEntry.getKey();
+        Integer count = info.count();
+        Instant earliest = Instant.ofEpochMilli(info.earliest());
+        Instant latest = Instant.ofEpochMilli(info.latest());
+        return new PersistenceItemInfo() {
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public @Nullable Integer getCount() {
+                return count;
+            }
+
+            @Override
+            public @Nullable Date getEarliest() {
+                return Date.from(earliest);
+            }
+
+            @Override
+            public @Nullable Date getLatest() {
+                return Date.from(latest);
+            }
+        };
     }
 
-    private HistoricItem toHistoricItem(String itemName, PersistEntry entry) {
+    private HistoricItem toHistoricItem(String itemName, InMemoryTimeSeries.Entry entry) {
+        ZonedDateTime timestamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(entry.timestamp()),
+                ZoneId.systemDefault());
         return new HistoricItem() {
             @Override
             public ZonedDateTime getTimestamp() {
-                return entry.timestamp();
+                return timestamp;
             }
 
             @Override
@@ -251,34 +227,23 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
-
-        Lock lock = persistItem.lock();
-        lock.lock();
-        try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
-            }
-        } finally {
-            lock.unlock();
-        }
+        InMemoryTimeSeries timeSeries = Objects
+                .requireNonNull(persistMap.computeIfAbsent(itemName, k -> new InMemoryTimeSeries()));
+        timeSeries.add(timestamp.toInstant().toEpochMilli(), state, maxEntries);
     }
 
-    @SuppressWarnings("unchecked")
-    private boolean applies(PersistEntry entry, FilterCriteria filter) {
+    private long beginOf(FilterCriteria filter) {
         ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null && beginDate.isAfter(entry.timestamp())) {
-            return false;
-        }
+        return beginDate == null ? Long.MIN_VALUE : beginDate.toInstant().toEpochMilli();
+    }
+
+    private long endOf(FilterCriteria filter) {
         ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null && endDate.isBefore(entry.timestamp())) {
-            return false;
-        }
+        return endDate == null ? Long.MAX_VALUE : endDate.toInstant().toEpochMilli();
+    }
 
+    @SuppressWarnings("unchecked")
+    private boolean applies(State state, FilterCriteria filter) {
         State refState = filter.getState();
         FilterCriteria.Operator operator = filter.getOperator();
         if (refState == null) {
@@ -287,14 +252,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
 
         if (operator == FilterCriteria.Operator.EQ) {
-            return entry.state().equals(refState);
+            return state.equals(refState);
         }
 
         if (operator == FilterCriteria.Operator.NEQ) {
-            return !entry.state().equals(refState);
+            return !state.equals(refState);
         }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
+        if (state instanceof Comparable comparableState && state.getClass().equals(refState.getClass())) {
             if (operator == FilterCriteria.Operator.GT) {
                 return comparableState.compareTo(refState) > 0;
             }
@@ -312,10 +277,4 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
         return true;
     }
-
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    }
-
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
-    }
 }
@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link InMemoryTimeSeries} holds the persisted states of one item in a ring buffer of primitive columns, ordered
+ * by timestamp.
+ *
+ * Plain decimal and quantity states are stored as {@code double} together with a shared reference to their unit,
+ * all other states are interned, so that repeated states share one instance. Queries use optimistic reads and do not
+ * block writers.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class InMemoryTimeSeries {
+    private static final Object DECIMAL = new Object();
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_INTERNED = 64;
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<Object, Object> interned = new HashMap<>();
+
+    // all three columns have the same length, the oldest entry is stored at index head
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private @Nullable Object[] refs = new Object[INITIAL_CAPACITY];
+    private int head = 0;
+    private int size = 0;
+
+    record Entry(long timestamp, State state) {
+    }
+
+    record Info(int count, long earliest, long latest) {
+    }
+
+    /**
+     * Adds a state. A state with the same timestamp is replaced. The oldest entries are removed if the number of
+     * entries exceeds maxEntries (unless maxEntries is 0).
+     *
+     * @param timestamp the timestamp in epoch milliseconds
+     * @param state the state
+     * @param maxEntries the maximum number of entries
+     */
+    void add(long timestamp, State state, long maxEntries) {
+        long stamp = lock.writeLock();
+        try {
+            double value;
+            Object ref;
+            if (state.getClass() == DecimalType.class) {
+                value = ((DecimalType) state).doubleValue();
+                ref = DECIMAL;
+            } else if (state.getClass() == QuantityType.class) {
+                QuantityType<?> quantity = (QuantityType<?>) state;
+                value = quantity.doubleValue();
+                ref = intern(quantity.getUnit());
+            } else {
+                value = Double.NaN;
+                ref = intern(state);
+            }
+
+            // values are usually added in order, so check the end first
+            int index = size == 0 || timestamps[physical(size - 1)] < timestamp ? size : lowerBound(timestamp);
+            if (index < size && timestamps[physical(index)] == timestamp) {
+                set(physical(index), timestamp, value, ref);
+            } else {
+                ensureCapacity(size + 1);
+                for (int i = size; i > index; i--) {
+                    int from = physical(i - 1);
+                    set(physical(i), timestamps[from], values[from], refs[from]);
+                }
+                set(physical(index), timestamp, value, ref);
+                size++;
+            }
+            trimInternal(maxEntries);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the oldest entries until at most maxEntries are left.
+     */
+    void trim(long maxEntries) {
+        long stamp = lock.writeLock();
+        try {
+            trimInternal(maxEntries);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all entries within the time range whose state matches the filter.
+     *
+     * @param begin the begin of the range in epoch milliseconds (inclusive)
+     * @param end the end of the range in epoch milliseconds (inclusive)
+     * @param filter the filter for the states to remove
+     */
+    void remove(long begin, long end, Predicate<State> filter) {
+        long stamp = lock.writeLock();
+        try {
+            int from = lowerBound(begin);
+            int to = upperBound(end);
+            int target = from;
+            for (int i = from; i < to; i++) {
+                int p = physical(i);
+                if (!filter.test(toState(values[p], refs[p]))) {
+                    set(physical(target++), timestamps[p], values[p], refs[p]);
+                }
+            }
+            // move the entries after the range
+            for (int i = to; i < size; i++) {
+                int p = physical(i);
+                set(physical(target++), timestamps[p], values[p], refs[p]);
+            }
+            for (int i = target; i < size; i++) {
+                refs[physical(i)] = null;
+            }
+            size = target;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the entries within the time range in ascending order.
+     *
+     * @param begin the begin of the range in epoch milliseconds (inclusive)
+     * @param end the end of the range in epoch milliseconds (inclusive)
+     * @return the entries
+     */
+    List<Entry> query(long begin, long end) {
+        Slice slice = null;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                slice = copy(begin, end);
+            } catch (RuntimeException e) {
+                // a concurrent write has been observed, read again with lock
+            }
+            if (!lock.validate(stamp)) {
+                slice = null;
+            }
+        }
+        if (slice == null) {
+            stamp = lock.readLock();
+            try {
+                slice = copy(begin, end);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(slice.timestamps.length);
+        for (int i = 0; i < slice.timestamps.length; i++) {
+            entries.add(new Entry(slice.timestamps[i], toState(slice.values[i], slice.refs[i])));
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the number of entries and the time range covered.
+     *
+     * @return the information, or null if there are no entries
+     */
+    @Nullable
+    Info info() {
+        long stamp = lock.readLock();
+        try {
+            return size == 0 ? null : new Info(size, timestamps[physical(0)], timestamps[physical(size - 1)]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private record Slice(long[] timestamps, double[] values, @Nullable Object[] refs) {
+    }
+
+    private Slice copy(long begin, long end) {
+        int from = lowerBound(begin);
+        int count = Math.max(0, upperBound(end) - from);
+        long[] copiedTimestamps = new long[count];
+        double[] copiedValues = new double[count];
+        Object[] copiedRefs = new Object[count];
+        for (int i = 0; i < count; i++) {
+            int p = physical(from + i);
+            copiedTimestamps[i] = timestamps[p];
+            copiedValues[i] = values[p];
+            copiedRefs[i] = refs[p];
+        }
+        return new Slice(copiedTimestamps, copiedValues, copiedRefs);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private State toState(double value, @Nullable Object ref) {
+        if (ref == DECIMAL) {
+            return new DecimalType(value);
+        } else if (ref instanceof Unit unit) {
+            return new QuantityType(value, unit);
+        } else if (ref instanceof State state) {
+            return state;
+        }
+        throw new IllegalStateException("Inconsistent time series entry");
+    }
+
+    private Object intern(Object object) {
+        Object existing = interned.get(object);
+        if (existing != null) {
+            return existing;
+        }
+        if (interned.size() < MAX_INTERNED) {
+            interned.put(object, object);
+        }
+        return object;
+    }
+
+    private void trimInternal(long maxEntries) {
+        // a value of 0 disables purging
+        while (maxEntries > 0 && size > maxEntries) {
+            refs[head] = null;
+            head = (head + 1) % timestamps.length;
+            size--;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= timestamps.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, timestamps.length * 2);
+        long[] newTimestamps = new long[newCapacity];
+        double[] newValues = new double[newCapacity];
+        Object[] newRefs = new Object[newCapacity];
+        for (int i = 0; i < size; i++) {
+            int p = physical(i);
+            newTimestamps[i] = timestamps[p];
+            newValues[i] = values[p];
+            newRefs[i] = refs[p];
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        refs = newRefs;
+        head = 0;
+    }
+
+    private void set(int p, long timestamp, double value, @Nullable Object ref) {
+        timestamps[p] = timestamp;
+        values[p] = value;
+        refs[p] = ref;
+    }
+
+    private int physical(int index) {
+        int p = head + index;
+        return p >= timestamps.length ? p - timestamps.length : p;
+    }
+
+    /**
+     * Finds the index of the first entry with a timestamp greater than or equal to the given timestamp.
+     */
+    private int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[physical(mid)] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the index of the first entry with a timestamp greater than the given timestamp.
+     */
+    private int upperBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[physical(mid)] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This enum represents the functions available for aggregating values per time bucket in the database.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public enum AggregationFunction {
+    /**
+     * Average of all values in the bucket. Only applicable to number items.
+     */
+    AVG,
+    /**
+     * Lowest value in the bucket. Only applicable to number items.
+     */
+    MIN,
+    /**
+     * Highest value in the bucket. Only applicable to number items.
+     */
+    MAX,
+    /**
+     * Most recent value in the bucket, with its original timestamp.
+     */
+    LAST;
+
+    /**
+     * Checks if this function calculates a new value, which requires a numeric column.
+     *
+     * @return true for all functions except {@link #LAST}
+     */
+    public boolean isNumeric() {
+        return this != LAST;
+    }
+}
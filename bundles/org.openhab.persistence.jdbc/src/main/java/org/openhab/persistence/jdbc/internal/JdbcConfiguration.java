@@ -65,6 +65,10 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int writeBatchSize = 0;
+    private int writeBatchInterval = 1000;
+    private int writeQueueSize = 10000;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -189,6 +193,36 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("writeBatchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            writeBatchSize = Integer.parseInt(bs);
+            logger.debug("JDBC::updateConfig: writeBatchSize={}", writeBatchSize);
+        }
+
+        String bi = (String) configuration.get("writeBatchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            writeBatchInterval = Integer.parseInt(bi);
+            logger.debug("JDBC::updateConfig: writeBatchInterval={}", writeBatchInterval);
+        }
+
+        String qs = (String) configuration.get("writeQueueSize");
+        if (qs != null && !qs.isBlank() && isNumericPattern.matcher(qs).matches()) {
+            writeQueueSize = Integer.parseInt(qs);
+            logger.debug("JDBC::updateConfig: writeQueueSize={}", writeQueueSize);
+        }
+
+        String sc = (String) configuration.get("statementCacheSize");
+        if (sc != null && !sc.isBlank() && isNumericPattern.matcher(sc).matches()) {
+            dBDAO.setStatementCacheSize(Integer.parseInt(sc));
+            logger.debug("JDBC::updateConfig: statementCacheSize={}", sc);
+        }
+
+        String sp = (String) configuration.get("serverPreparedStatements");
+        if (sp != null && !sp.isBlank()) {
+            dBDAO.setServerPreparedStatements(Boolean.parseBoolean(sp));
+            logger.debug("JDBC::updateConfig: serverPreparedStatements={}", sp);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -369,6 +403,27 @@ public class JdbcConfiguration {
         return errReconnectThreshold;
     }
 
+    /**
+     * Checks if values should be buffered and written in batches.
+     *
+     * @return true if writeBatchSize is greater than one.
+     */
+    public boolean isWriteBatchingEnabled() {
+        return writeBatchSize > 1;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public int getWriteBatchInterval() {
+        return writeBatchInterval;
+    }
+
+    public int getWriteQueueSize() {
+        return writeQueueSize;
+    }
+
     public boolean getRebuildTableNames() {
         return rebuildTableNames;
     }
@@ -421,6 +476,8 @@ public class JdbcConfiguration {
         dBDAO.initAfterFirstDbConnection();
         // Running once again to prior external configured SqlTypes!
         setSqlTypes();
+        // SQL templates might have changed depending on DB version
+        dBDAO.clearCachedSql();
         this.dbConnected = dbConnected;
     }
 
@@ -32,6 +32,7 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.db.JdbcStreamingResult;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -60,6 +61,7 @@ public class JdbcMapper {
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
     protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    protected final JdbcMetrics metrics = new JdbcMetrics();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
@@ -221,10 +223,27 @@ public class JdbcMapper {
         } else {
             conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null), date);
         }
-        logTime("storeItemValue", timerStart, System.currentTimeMillis());
+        long timerStop = System.currentTimeMillis();
+        metrics.recordStore(timerStop - timerStart);
+        logTime("storeItemValue", timerStart, timerStop);
         errCnt = 0;
     }
 
+    protected void storeItemValues(Item item, List<HistoricItem> values) throws JdbcException {
+        logger.debug("JDBC::storeItemValues: item={} count={}", item, values.size());
+        String tableName = getTable(item);
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(item, tableName, values);
+        long timerStop = System.currentTimeMillis();
+        metrics.recordStore(timerStop - timerStart);
+        logTime("storeItemValues", timerStart, timerStop);
+        errCnt = 0;
+    }
+
+    public JdbcMetrics getMetrics() {
+        return metrics;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -237,7 +256,31 @@ public class JdbcMapper {
         long timerStart = System.currentTimeMillis();
         List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
                 item.getName(), timeZoneProvider.getTimeZone());
-        logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
+        long timerStop = System.currentTimeMillis();
+        metrics.recordQuery(timerStop - timerStart);
+        logTime("getHistItemFilterQuery", timerStart, timerStop);
+        errCnt = 0;
+        return result;
+    }
+
+    protected JdbcStreamingResult getHistItemFilterQueryStream(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item) {
+        logger.debug("JDBC::getHistItemFilterQueryStream numberDecimalcount='{}' table='{}' itemName='{}'",
+                numberDecimalcount, table, item.getName());
+        return conf.getDBDAO().doGetHistItemFilterQueryStream(item, filter, numberDecimalcount, table, item.getName(),
+                timeZoneProvider.getTimeZone());
+    }
+
+    protected List<HistoricItem> getHistItemAggregateQuery(FilterCriteria filter, AggregationFunction function,
+            long bucketSeconds, String table, Item item) throws JdbcSQLException {
+        logger.debug("JDBC::getHistItemAggregateQuery function='{}' bucketSeconds='{}' table='{}' itemName='{}'",
+                function, bucketSeconds, table, item.getName());
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> result = conf.getDBDAO().doGetHistItemAggregateQuery(item, filter, function, bucketSeconds,
+                table, timeZoneProvider.getTimeZone());
+        long timerStop = System.currentTimeMillis();
+        metrics.recordQuery(timerStop - timerStart);
+        logTime("getHistItemAggregateQuery", timerStart, timerStop);
         errCnt = 0;
         return result;
     }
@@ -336,6 +379,7 @@ public class JdbcMapper {
 
     public void populateItemNameToTableNameMap() throws JdbcSQLException {
         itemNameToTableNameMap.clear();
+        conf.getDBDAO().clearCachedSql();
         if (conf.getTableUseRealCaseSensitiveItemNames()) {
             for (String itemName : getItemTables().stream().map(t -> t.getTableName()).collect(Collectors.toList())) {
                 itemNameToTableNameMap.put(itemName, itemName);
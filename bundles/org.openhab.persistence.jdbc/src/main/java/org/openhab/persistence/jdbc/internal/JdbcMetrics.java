@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.knowm.yank.Yank;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The {@link JdbcMetrics} holds the meters of the JDBC persistence service: the connection pool, the durations of
+ * queries, stores and flushes and the state of the write buffer. The meters are always recorded, so the console
+ * command can show them, and are published to the openHAB meter registry while it is available.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcMetrics {
+
+    private static final String METRIC_PREFIX = "openhab.persistence.jdbc.";
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final List<Meter> meters;
+    private final Timer queryTimer;
+    private final Timer storeTimer;
+    private final Timer flushTimer;
+    private volatile @Nullable JdbcWriteBuffer writeBuffer;
+    private @Nullable MeterRegistry publishedRegistry;
+
+    public JdbcMetrics() {
+        registry.add(new SimpleMeterRegistry());
+        queryTimer = Timer.builder(METRIC_PREFIX + "query.duration")
+                .description("Time taken to query historic values from the database").register(registry);
+        storeTimer = Timer.builder(METRIC_PREFIX + "store.duration")
+                .description("Time taken to store the values of an item in the database").register(registry);
+        flushTimer = Timer.builder(METRIC_PREFIX + "flush.duration")
+                .description("Time taken to write all queued values to the database").register(registry);
+        meters = List.of(queryTimer, storeTimer, flushTimer,
+                Gauge.builder(METRIC_PREFIX + "pool.active", this,
+                        m -> m.poolValue(HikariPoolMXBean::getActiveConnections))
+                        .description("Number of connections in use").register(registry),
+                Gauge.builder(METRIC_PREFIX + "pool.idle", this,
+                        m -> m.poolValue(HikariPoolMXBean::getIdleConnections))
+                        .description("Number of idle connections in the pool").register(registry),
+                Gauge.builder(METRIC_PREFIX + "pool.pending", this,
+                        m -> m.poolValue(HikariPoolMXBean::getThreadsAwaitingConnection))
+                        .description("Number of threads waiting for a connection").register(registry),
+                Gauge.builder(METRIC_PREFIX + "queue.size", this, m -> m.bufferValue(JdbcWriteBuffer::getQueueDepth))
+                        .description("Number of values waiting to be written to the database").register(registry),
+                FunctionCounter
+                        .builder(METRIC_PREFIX + "queue.written", this,
+                                m -> m.bufferValue(JdbcWriteBuffer::getWrittenValues))
+                        .description("Number of queued values written to the database").register(registry),
+                FunctionCounter
+                        .builder(METRIC_PREFIX + "queue.dropped", this,
+                                m -> m.bufferValue(JdbcWriteBuffer::getDroppedValues))
+                        .description("Number of values dropped because the write queue was full").register(registry));
+    }
+
+    /**
+     * Publishes the meters to the given registry, in addition to the local one.
+     */
+    public synchronized void publish(MeterRegistry meterRegistry) {
+        unpublish();
+        registry.add(meterRegistry);
+        publishedRegistry = meterRegistry;
+    }
+
+    /**
+     * Removes the meters from the registry they have been published to.
+     */
+    public synchronized void unpublish() {
+        MeterRegistry meterRegistry = publishedRegistry;
+        publishedRegistry = null;
+        if (meterRegistry != null) {
+            registry.remove(meterRegistry);
+            for (Meter meter : meters) {
+                meterRegistry.remove(meter.getId());
+            }
+        }
+    }
+
+    public void setWriteBuffer(@Nullable JdbcWriteBuffer writeBuffer) {
+        this.writeBuffer = writeBuffer;
+    }
+
+    public void recordQuery(long durationMillis) {
+        queryTimer.record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordStore(long durationMillis) {
+        storeTimer.record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordFlush(long durationMillis) {
+        flushTimer.record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return all meters, for showing them on the console
+     */
+    public List<Meter> getMeters() {
+        return meters;
+    }
+
+    private double poolValue(ToIntFunction<HikariPoolMXBean> value) {
+        HikariDataSource dataSource = Yank.getDefaultConnectionPool();
+        HikariPoolMXBean pool = dataSource == null ? null : dataSource.getHikariPoolMXBean();
+        return pool == null ? Double.NaN : value.applyAsInt(pool);
+    }
+
+    private double bufferValue(ToLongFunction<JdbcWriteBuffer> value) {
+        JdbcWriteBuffer writeBuffer = this.writeBuffer;
+        return writeBuffer == null ? 0 : value.applyAsLong(writeBuffer);
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -23,6 +24,9 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,10 +34,12 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -44,6 +50,7 @@ import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.db.JdbcStreamingResult;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
@@ -54,6 +61,8 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,6 +86,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private volatile @Nullable JdbcWriteBuffer writeBuffer;
+    private @Nullable ScheduledFuture<?> flushJob;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -120,6 +133,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        stopWriteBuffer();
         // closeConnection();
         initialized = false;
     }
@@ -137,24 +151,86 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        enqueue(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        enqueue(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        enqueue(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, date, state));
+        enqueue(item, date, state);
+    }
+
+    private void enqueue(Item item, @Nullable ZonedDateTime date, State state) {
+        JdbcWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null) {
+            scheduler.execute(() -> internalStore(item, date, state));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // the value is written later, so the time must be taken now instead of leaving it to the database
+        if (!writeBuffer.offer(item, date != null ? date : ZonedDateTime.now(), state)) {
+            logger.warn("JDBC::store: Write queue is full, dropping state '{}' for item '{}'", state, item.getName());
+            return;
+        }
+        if (writeBuffer.getQueueDepth() >= conf.getWriteBatchSize() && !flushPending.getAndSet(true)) {
+            scheduler.execute(this::flushWriteBuffer);
+        }
+    }
+
+    private synchronized void flushWriteBuffer() {
+        flushPending.set(false);
+        JdbcWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null || writeBuffer.getQueueDepth() == 0) {
+            return;
+        }
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::flush: No connection to database. Keeping {} queued states! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    writeBuffer.getQueueDepth(), errCnt, conf.getErrReconnectThreshold());
+            return;
+        }
+        long timerStart = System.currentTimeMillis();
+        int count = 0;
+        for (JdbcWriteBuffer.ItemValues itemValues : writeBuffer.drain().values()) {
+            Item item = itemValues.getItem();
+            try {
+                storeItemValues(item, itemValues.getValues());
+                count += itemValues.getValues().size();
+            } catch (JdbcException e) {
+                int dropped = writeBuffer.requeue(itemValues);
+                logger.warn("JDBC::flush: Unable to store {} states of item '{}', keeping them queued ({} dropped)",
+                        itemValues.getValues().size(), item.getName(), dropped, e);
+            }
+        }
+        long duration = System.currentTimeMillis() - timerStart;
+        writeBuffer.recordWritten(count);
+        metrics.recordFlush(duration);
+        logger.debug("JDBC: Flushed {} states to SQL database in {} ms, {} states still queued.", count, duration,
+                writeBuffer.getQueueDepth());
+    }
+
+    /**
+     * Get the buffer used for batched writes.
+     *
+     * @return the buffer, or null if batched writes are disabled
+     */
+    public @Nullable JdbcWriteBuffer getWriteBuffer() {
+        return writeBuffer;
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
@@ -196,39 +272,124 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
      */
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        // values still waiting in the write buffer have to be visible to the query
+        flushWriteBuffer();
         if (!checkDBAccessability()) {
             logger.warn("JDBC::query: database not connected, query aborted for item '{}'", filter.getItemName());
             return List.of();
         }
 
-        // Get the item name from the filter
-        // Also get the Item object so we can determine the type
-        Item item = null;
         String itemName = filter.getItemName();
         if (itemName == null) {
             logger.warn("Item name is missing in filter {}", filter);
             return List.of();
         }
-        logger.debug("JDBC::query: item is {}", itemName);
-        try {
-            item = itemRegistry.getItem(itemName);
-        } catch (ItemNotFoundException e1) {
-            logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
+        Item item = getQueryItem(itemName);
+        if (item == null) {
             return List.of();
         }
 
-        if (item instanceof GroupItem) {
-            // For Group Item is BaseItem needed to get correct Type of Value.
-            item = GroupItem.class.cast(item).getBaseItem();
-            logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
-            if (item == null) {
-                logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
-                return List.of();
-            }
-            if (item instanceof GroupItem) {
-                logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
-                return List.of();
+        String table = itemNameToTableNameMap.get(itemName);
+        if (table == null) {
+            logger.debug("JDBC::query: unable to find table for item with name: '{}', no data in database.", itemName);
+            return List.of();
+        }
+
+        try {
+            long timerStart = System.currentTimeMillis();
+            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
+                        System.currentTimeMillis() - timerStart);
             }
+            // Success
+            errCnt = 0;
+            return items;
+        } catch (JdbcSQLException e) {
+            errCnt++;
+            logger.warn("JDBC::query: Unable to query item", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Queries the database like {@link #query(FilterCriteria)}, but returns a lazily evaluated result. Rows are
+     * fetched from the database while iterating, so memory usage stays constant regardless of the size of the
+     * queried range. This is meant for exporting or replaying large ranges.
+     *
+     * The database connection is released when the result has been iterated to the end. Callers that might stop
+     * earlier have to close the returned {@link JdbcStreamingResult}, e.g. with try-with-resources. Errors while
+     * iterating are thrown as {@link IllegalStateException}.
+     *
+     * @param filter
+     *            the filter to apply to the query
+     * @return a lazily evaluated time series of items, iterable only once
+     */
+    public JdbcStreamingResult queryStream(FilterCriteria filter) {
+        flushWriteBuffer();
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::queryStream: database not connected, query aborted for item '{}'",
+                    filter.getItemName());
+            return JdbcStreamingResult.empty();
+        }
+
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            logger.warn("Item name is missing in filter {}", filter);
+            return JdbcStreamingResult.empty();
+        }
+        Item item = getQueryItem(itemName);
+        if (item == null) {
+            return JdbcStreamingResult.empty();
+        }
+
+        String table = itemNameToTableNameMap.get(itemName);
+        if (table == null) {
+            logger.debug("JDBC::queryStream: unable to find table for item with name: '{}', no data in database.",
+                    itemName);
+            return JdbcStreamingResult.empty();
+        }
+
+        return getHistItemFilterQueryStream(filter, conf.getNumberDecimalcount(), table, item);
+    }
+
+    /**
+     * Queries the database for values aggregated into time buckets of the given length. The aggregation is performed
+     * by the database, so only one value per bucket is transferred. If the database does not support aggregation
+     * queries, the values are aggregated in memory.
+     *
+     * @param filter
+     *            the filter to apply to the query, paging is ignored
+     * @param function
+     *            the aggregation function, numeric functions are only supported for number items
+     * @param bucket
+     *            the length of the time buckets, at least one second
+     * @return a time series with one value per non-empty bucket
+     */
+    public Iterable<HistoricItem> query(FilterCriteria filter, AggregationFunction function, Duration bucket) {
+        flushWriteBuffer();
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::query: database not connected, query aborted for item '{}'", filter.getItemName());
+            return List.of();
+        }
+
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            logger.warn("Item name is missing in filter {}", filter);
+            return List.of();
+        }
+        Item item = getQueryItem(itemName);
+        if (item == null) {
+            return List.of();
+        }
+        if (function.isNumeric() && !(item instanceof NumberItem)) {
+            logger.warn("JDBC::query: aggregation function {} is not supported for item '{}'", function, itemName);
+            return List.of();
+        }
+        long bucketSeconds = bucket.getSeconds();
+        if (bucketSeconds < 1) {
+            logger.warn("JDBC::query: bucket length {} is too short, must be at least one second", bucket);
+            return List.of();
         }
 
         String table = itemNameToTableNameMap.get(itemName);
@@ -239,9 +400,9 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         try {
             long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            List<HistoricItem> items = getHistItemAggregateQuery(filter, function, bucketSeconds, table, item);
             if (logger.isDebugEnabled()) {
-                logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
+                logger.debug("JDBC: Aggregate query for item '{}' returned {} rows in {} ms", itemName, items.size(),
                         System.currentTimeMillis() - timerStart);
             }
             // Success
@@ -253,9 +414,42 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Gets the item to query, resolving group items to their base item, so the type of the values is known.
+     *
+     * @param itemName the name of the item
+     * @return the item, or null if it cannot be queried
+     */
+    private @Nullable Item getQueryItem(String itemName) {
+        logger.debug("JDBC::query: item is {}", itemName);
+        Item item;
+        try {
+            item = itemRegistry.getItem(itemName);
+        } catch (ItemNotFoundException e1) {
+            logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
+            return null;
+        }
+
+        if (item instanceof GroupItem) {
+            // For Group Item is BaseItem needed to get correct Type of Value.
+            item = GroupItem.class.cast(item).getBaseItem();
+            logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
+            if (item == null) {
+                logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
+                return null;
+            }
+            if (item instanceof GroupItem) {
+                logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
+                return null;
+            }
+        }
+        return item;
+    }
+
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopWriteBuffer();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
@@ -270,10 +464,46 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         } else {
             initialized = false;
         }
+        if (conf.valid && conf.isWriteBatchingEnabled()) {
+            startWriteBuffer();
+        }
 
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
+    private void startWriteBuffer() {
+        JdbcWriteBuffer writeBuffer = new JdbcWriteBuffer(conf.getWriteQueueSize());
+        this.writeBuffer = writeBuffer;
+        metrics.setWriteBuffer(writeBuffer);
+        int interval = Math.max(conf.getWriteBatchInterval(), 10);
+        flushJob = scheduler.scheduleWithFixedDelay(this::flushWriteBuffer, interval, interval, TimeUnit.MILLISECONDS);
+        logger.debug("JDBC::startWriteBuffer: batch size {}, interval {} ms, queue size {}", conf.getWriteBatchSize(),
+                interval, conf.getWriteQueueSize());
+    }
+
+    private void stopWriteBuffer() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        if (writeBuffer != null) {
+            // write what is left before giving up the buffer
+            flushWriteBuffer();
+            writeBuffer = null;
+            metrics.setWriteBuffer(null);
+        }
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.publish(meterRegistryProvider.getOHMeterRegistry());
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.unpublish();
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.CHANGE);
@@ -281,6 +511,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public boolean remove(FilterCriteria filter) throws IllegalArgumentException {
+        // write buffered values first, otherwise they would be written after the removal
+        flushWriteBuffer();
         if (!checkDBAccessability()) {
             logger.warn("JDBC::remove: database not connected, remove aborted for item '{}'", filter.getItemName());
             return false;
@@ -551,6 +783,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                     deleteItemsEntry(itemsVo);
                 }
                 itemNameToTableNameMap.remove(entry.getItemName());
+                conf.getDBDAO().evictCachedSql(tableName);
                 return true;
             case ORPHAN_TABLE:
             case VALID:
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.items.Item;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+
+/**
+ * The {@link JdbcWriteBuffer} is a bounded queue of item values waiting to be written to the database.
+ * Values are drained grouped per item, so that each group can be written to the item table with a single batch.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBuffer {
+
+    private final BlockingQueue<PendingValue> queue;
+    private final AtomicLong droppedValues = new AtomicLong();
+    private final AtomicLong writtenValues = new AtomicLong();
+
+    private record PendingValue(Item item, HistoricItem value) {
+    }
+
+    /**
+     * Holds all values of one item drained from the buffer.
+     */
+    public static class ItemValues {
+        private Item item;
+        private final List<HistoricItem> values = new ArrayList<>();
+
+        private ItemValues(Item item) {
+            this.item = item;
+        }
+
+        public Item getItem() {
+            return item;
+        }
+
+        public List<HistoricItem> getValues() {
+            return values;
+        }
+    }
+
+    public JdbcWriteBuffer(int capacity) {
+        queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Adds a value to the buffer.
+     *
+     * @return false if the buffer is full and the value has been dropped
+     */
+    public boolean offer(Item item, ZonedDateTime date, State state) {
+        boolean added = queue.offer(new PendingValue(item, new JdbcHistoricItem(item.getName(), state, date)));
+        if (!added) {
+            droppedValues.incrementAndGet();
+        }
+        return added;
+    }
+
+    /**
+     * Puts values that could not be written back into the buffer, so they are retried with the next flush.
+     * Values that do not fit into the buffer anymore are dropped.
+     *
+     * @return the number of values that have been dropped
+     */
+    public int requeue(ItemValues itemValues) {
+        int dropped = 0;
+        for (HistoricItem value : itemValues.values) {
+            if (!queue.offer(new PendingValue(itemValues.item, value))) {
+                dropped++;
+            }
+        }
+        droppedValues.addAndGet(dropped);
+        return dropped;
+    }
+
+    /**
+     * Removes all pending values from the buffer.
+     *
+     * @return the values grouped by item name, in the order the items were first seen
+     */
+    public Map<String, ItemValues> drain() {
+        List<PendingValue> pending = new ArrayList<>(queue.size());
+        queue.drainTo(pending);
+        Map<String, ItemValues> valuesByItem = new LinkedHashMap<>();
+        for (PendingValue pendingValue : pending) {
+            ItemValues itemValues = valuesByItem.computeIfAbsent(pendingValue.item().getName(),
+                    k -> new ItemValues(pendingValue.item()));
+            // always use the most recent item instance, it might have been replaced in the meantime
+            itemValues.item = pendingValue.item();
+            itemValues.values.add(pendingValue.value());
+        }
+        return valuesByItem;
+    }
+
+    /**
+     * Records the number of values written by a completed flush.
+     */
+    public void recordWritten(int count) {
+        writtenValues.addAndGet(count);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getRemainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    public long getDroppedValues() {
+        return droppedValues.get();
+    }
+
+    public long getWrittenValues() {
+        return writtenValues.get();
+    }
+}
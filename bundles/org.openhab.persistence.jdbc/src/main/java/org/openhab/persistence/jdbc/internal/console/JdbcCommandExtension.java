@@ -12,12 +12,16 @@
  */
 package org.openhab.persistence.jdbc.internal.console;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,8 +32,12 @@ import org.openhab.core.io.console.ConsoleCommandCompleter;
 import org.openhab.core.io.console.StringsCompleter;
 import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
 import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.persistence.jdbc.internal.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
@@ -39,6 +47,11 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * The {@link JdbcCommandExtension} is responsible for handling console commands
  *
@@ -51,14 +64,19 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_STATS = "stats";
+    private static final String CMD_AGGREGATE = "aggregate";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
     private static final String SUBCMD_TABLES_CLEAN = "clean";
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
+    private static final int DEFAULT_AGGREGATE_HOURS = 24;
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_STATS, CMD_AGGREGATE), false);
+    private static final StringsCompleter AGGREGATION_FUNCTION_COMPLETER = new StringsCompleter(
+            Stream.of(AggregationFunction.values()).map(Enum::name).toList(), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
@@ -74,7 +92,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
 
     @Override
     public void execute(String[] args, Console console) {
-        if (args.length < 1 || args.length > 4) {
+        if (args.length < 1 || args.length > 5) {
             printUsage(console);
             return;
         }
@@ -135,6 +153,11 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            printStatistics(persistenceService, console);
+            return true;
+        } else if (args.length >= 4 && CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+            return aggregate(persistenceService, console, args);
         }
         return false;
     }
@@ -252,6 +275,41 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void printStatistics(JdbcPersistenceService persistenceService, Console console) {
+        for (Meter meter : persistenceService.getMetrics().getMeters()) {
+            String name = meter.getId().getName();
+            if (meter instanceof Timer timer) {
+                console.println(String.format(Locale.ROOT, "%-45s count=%d mean=%.1f ms max=%.1f ms", name,
+                        timer.count(), timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS)));
+            } else if (meter instanceof Gauge gauge) {
+                console.println(String.format(Locale.ROOT, "%-45s %.0f", name, gauge.value()));
+            } else if (meter instanceof FunctionCounter counter) {
+                console.println(String.format(Locale.ROOT, "%-45s %.0f", name, counter.count()));
+            }
+        }
+    }
+
+    private boolean aggregate(JdbcPersistenceService persistenceService, Console console, String[] args) {
+        AggregationFunction function;
+        long bucketMinutes;
+        long hours;
+        try {
+            function = AggregationFunction.valueOf(args[2].toUpperCase(Locale.ROOT));
+            bucketMinutes = Long.parseLong(args[3]);
+            hours = args.length == 5 ? Long.parseLong(args[4]) : DEFAULT_AGGREGATE_HOURS;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(args[1]);
+        filter.setBeginDate(ZonedDateTime.now().minusHours(hours));
+        filter.setOrdering(Ordering.ASCENDING);
+        for (HistoricItem item : persistenceService.query(filter, function, Duration.ofMinutes(bucketMinutes))) {
+            console.println(item.getTimestamp() + "  " + item.getState());
+        }
+        return true;
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +319,10 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_STATS, "show connection pool, timing and write queue statistics"),
+                buildCommandUsage(CMD_AGGREGATE + " <itemName> <AVG|MIN|MAX|LAST> <bucketMinutes> [<hours>]",
+                        "show values aggregated per bucket (default: last " + DEFAULT_AGGREGATE_HOURS + " hours)"));
     }
 
     @Override
@@ -278,9 +339,17 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 return SUBCMD_TABLES_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             } else if (CMD_SCHEMA.equalsIgnoreCase(args[0])) {
                 return SUBCMD_SCHEMA_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+            } else if (CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                JdbcPersistenceService persistenceService = getPersistenceService();
+                if (persistenceService != null) {
+                    return new StringsCompleter(persistenceService.getItemNames(), true).complete(args,
+                            cursorArgumentIndex, cursorPosition, candidates);
+                }
             }
         } else if (cursorArgumentIndex == 2) {
-            if (CMD_TABLES.equalsIgnoreCase(args[0])) {
+            if (CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                return AGGREGATION_FUNCTION_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+            } else if (CMD_TABLES.equalsIgnoreCase(args[0])) {
                 if (SUBCMD_TABLES_CLEAN.equalsIgnoreCase(args[1])) {
                     JdbcPersistenceService persistenceService = getPersistenceService();
                     if (persistenceService != null) {
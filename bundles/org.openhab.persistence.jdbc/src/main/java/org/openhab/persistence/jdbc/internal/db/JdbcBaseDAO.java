@@ -18,12 +18,17 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -56,6 +61,7 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -73,8 +79,21 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class JdbcBaseDAO {
+    private static final int STREAMING_FETCH_SIZE = 1000;
+    private static final int SQL_CACHE_SIZE = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(JdbcBaseDAO.class);
 
+    // Resolved SQL statements per table, so placeholders are not replaced again for every value
+    private final Map<String, String> sqlCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > SQL_CACHE_SIZE;
+        }
+    });
+
     public final Properties databaseProps = new Properties();
     protected String urlSuffix = "";
     public final Map<String, String> sqlTypes = new HashMap<>();
@@ -250,6 +269,22 @@ public class JdbcBaseDAO {
         return new Properties(this.databaseProps);
     }
 
+    /**
+     * Sets the number of prepared statements the JDBC driver caches per connection. Only supported by drivers with a
+     * statement cache, the default is configured per database.
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        logger.debug("JDBC::setStatementCacheSize: not supported by {}", getClass().getSimpleName());
+    }
+
+    /**
+     * Sets if statements are prepared on the database server. Only supported by drivers which can switch between
+     * client and server side prepared statements, the default is configured per database.
+     */
+    public void setServerPreparedStatements(boolean serverPreparedStatements) {
+        logger.debug("JDBC::setServerPreparedStatements: not supported by {}", getClass().getSimpleName());
+    }
+
     /**************
      * ITEMS DAOs *
      **************/
@@ -338,6 +373,8 @@ public class JdbcBaseDAO {
             Yank.execute(sql, null);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
+        } finally {
+            evictCachedSql(tableName);
         }
     }
 
@@ -399,6 +436,8 @@ public class JdbcBaseDAO {
                 Yank.execute(sql, null);
             } catch (YankSQLException e) {
                 throw new JdbcSQLException(e);
+            } finally {
+                evictCachedSql(itemTable.getTableName());
             }
         }
     }
@@ -430,10 +469,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue(), storedVO.getValue() };
+        String tablePrimaryValue = sqlTypes.get("tablePrimaryValue");
+        String sql = getCachedSql(storedVO.getTableName(), "insert:" + storedVO.getDbType() + ":" + tablePrimaryValue,
+                () -> insertItemValueSqlProvider(storedVO, tablePrimaryValue));
+        Object[] params = insertItemValueParamsProvider(storedVO, null);
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -444,10 +483,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+        String sql = getCachedSql(storedVO.getTableName(), "insert:" + storedVO.getDbType() + ":?",
+                () -> insertItemValueSqlProvider(storedVO, "?"));
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = insertItemValueParamsProvider(storedVO, timestamp);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -456,6 +495,42 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values of one item with a single JDBC batch.
+     *
+     * All values must carry their own timestamp. If more than one value is given for the same timestamp, only the
+     * last one is written, so that dialects without "upsert" support do not fail the whole batch.
+     *
+     * @param item the item the values belong to
+     * @param tableName the item table
+     * @param values the values to store, in the order they were received
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(Item item, String tableName, List<HistoricItem> values) throws JdbcSQLException {
+        Map<Long, Object[]> paramsByTime = new LinkedHashMap<>();
+        String sql = null;
+        for (HistoricItem value : values) {
+            ItemVO storedVO = storeItemValueProvider(item, value.getState(), new ItemVO(tableName, null));
+            if (sql == null) {
+                sql = getCachedSql(tableName, "insert:" + storedVO.getDbType() + ":?",
+                        () -> insertItemValueSqlProvider(storedVO, "?"));
+            }
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(value.getTimestamp().toInstant().toEpochMilli());
+            // re-insert to keep the order of the last value received for a given timestamp
+            paramsByTime.remove(timestamp.getTime());
+            paramsByTime.put(timestamp.getTime(), insertItemValueParamsProvider(storedVO, timestamp));
+        }
+        if (sql == null) {
+            return;
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, paramsByTime.size());
+        try {
+            Yank.executeBatch(sql, paramsByTime.values().toArray(new Object[0][]));
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -478,6 +553,140 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Queries values like {@link #doGetHistItemFilterQuery}, but returns a lazily evaluated result that fetches the
+     * rows in chunks of {@link #getStreamingFetchSize()} while iterating.
+     *
+     * @return the result, which has to be iterated to the end or closed to release the connection
+     */
+    public JdbcStreamingResult doGetHistItemFilterQueryStream(Item item, FilterCriteria filter, int numberDecimalcount,
+            String table, String name, ZoneId timeZone) {
+        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQueryStream sql={}", sql);
+        // we already retrieve the unit here once as it is a very costly operation
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return new JdbcStreamingResult(Yank.getDefaultConnectionPool(), sql, getStreamingFetchSize(),
+                o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsZonedDateTime(o[0])));
+    }
+
+    /**
+     * Provides the fetch size used for streaming queries, i.e. the number of rows the driver keeps in memory.
+     *
+     * @return the fetch size
+     */
+    protected int getStreamingFetchSize() {
+        return STREAMING_FETCH_SIZE;
+    }
+
+    /**
+     * Queries values aggregated into time buckets. The aggregation is performed by the database, so only one row per
+     * bucket is transferred. If the database does not support aggregation queries, the values are queried and
+     * aggregated in memory instead.
+     *
+     * @param item the item to query
+     * @param filter the filter providing time range and ordering, paging is ignored
+     * @param function the aggregation function
+     * @param bucketSeconds the length of a bucket in seconds
+     * @param table the item table
+     * @param timeZone the time zone of the stored timestamps
+     * @return one value per non-empty bucket, timestamped with the start of the bucket (or the time of the
+     *         value for {@link AggregationFunction#LAST})
+     * @throws JdbcSQLException on SQL errors
+     */
+    public List<HistoricItem> doGetHistItemAggregateQuery(Item item, FilterCriteria filter,
+            AggregationFunction function, long bucketSeconds, String table, ZoneId timeZone) throws JdbcSQLException {
+        String sql = isAggregationSupported()
+                ? histItemAggregateQueryProvider(filter, function, bucketSeconds, table, timeZone)
+                : null;
+        if (sql == null) {
+            logger.debug("JDBC::doGetHistItemAggregateQuery aggregation not supported, aggregating in memory");
+            FilterCriteria rawFilter = new FilterCriteria();
+            rawFilter.setItemName(filter.getItemName());
+            rawFilter.setBeginDate(filter.getBeginDate());
+            rawFilter.setEndDate(filter.getEndDate());
+            rawFilter.setOrdering(Ordering.ASCENDING);
+            List<HistoricItem> values = doGetHistItemFilterQuery(item, rawFilter, -1, table, item.getName(), timeZone);
+            Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+            return aggregate(item.getName(), values, function, bucketSeconds, unit, filter.getOrdering());
+        }
+        logger.debug("JDBC::doGetHistItemAggregateQuery sql={}", sql);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetHistItemAggregateQuery Query failed. Returning an empty list.");
+            return List.of();
+        }
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return m.stream().filter(o -> o[1] != null)
+                .map(o -> new JdbcHistoricItem(itemName,
+                        function.isNumeric() ? numberAsState(unit, objectAsNumber(o[1]))
+                                : objectAsState(item, unit, o[1]),
+                        objectAsZonedDateTime(o[0])))
+                .collect(Collectors.<HistoricItem> toList());
+    }
+
+    /**
+     * Aggregates values into time buckets in memory.
+     *
+     * @param itemName the name of the item
+     * @param values the values to aggregate, in ascending order
+     * @param function the aggregation function
+     * @param bucketSeconds the length of a bucket in seconds
+     * @param unit the unit of the item, if any
+     * @param ordering the ordering of the result
+     * @return one value per non-empty bucket, like {@link #doGetHistItemAggregateQuery}
+     */
+    protected List<HistoricItem> aggregate(String itemName, List<HistoricItem> values, AggregationFunction function,
+            long bucketSeconds, @Nullable Unit<? extends Quantity<?>> unit, Ordering ordering) {
+        Map<Long, List<HistoricItem>> buckets = new LinkedHashMap<>();
+        for (HistoricItem value : values) {
+            long bucket = Math.floorDiv(value.getTimestamp().toEpochSecond(), bucketSeconds) * bucketSeconds;
+            buckets.computeIfAbsent(bucket, k -> new ArrayList<>()).add(value);
+        }
+        List<HistoricItem> result = new ArrayList<>(buckets.size());
+        for (Map.Entry<Long, List<HistoricItem>> bucket : buckets.entrySet()) {
+            List<HistoricItem> bucketValues = bucket.getValue();
+            HistoricItem last = bucketValues.get(bucketValues.size() - 1);
+            if (function == AggregationFunction.LAST) {
+                result.add(last);
+                continue;
+            }
+            DoubleSummaryStatistics statistics = bucketValues.stream().map(HistoricItem::getState)
+                    .filter(Number.class::isInstance).mapToDouble(state -> ((Number) state).doubleValue())
+                    .summaryStatistics();
+            if (statistics.getCount() == 0) {
+                continue;
+            }
+            double aggregate = switch (function) {
+                case MIN -> statistics.getMin();
+                case MAX -> statistics.getMax();
+                default -> statistics.getAverage();
+            };
+            ZonedDateTime bucketStart = ZonedDateTime.ofInstant(Instant.ofEpochSecond(bucket.getKey()),
+                    last.getTimestamp().getZone());
+            result.add(new JdbcHistoricItem(itemName, numberAsState(unit, aggregate), bucketStart));
+        }
+        if (ordering == Ordering.DESCENDING) {
+            Collections.reverse(result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the database supports aggregation queries.
+     *
+     * @return true if {@link #doGetHistItemAggregateQuery} is performed by the database
+     */
+    public boolean isAggregationSupported() {
+        return histItemBucketProvider(1) != null;
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
         logger.debug("JDBC::doDeleteItemValues sql={}", sql);
@@ -489,8 +698,8 @@ public class JdbcBaseDAO {
     }
 
     public long doGetRowCount(String tableName) throws JdbcSQLException {
-        final String sql = StringUtilsExt.replaceArrayMerge(sqlGetRowCount, new String[] { "#tableName#" },
-                new String[] { tableName });
+        final String sql = getCachedSql(tableName, "rowCount", () -> StringUtilsExt
+                .replaceArrayMerge(sqlGetRowCount, new String[] { "#tableName#" }, new String[] { tableName }));
         logger.debug("JDBC::doGetRowCount sql={}", sql);
         try {
             final @Nullable Long result = Yank.queryScalar(sql, Long.class, null);
@@ -528,6 +737,62 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    protected @Nullable String histItemAggregateQueryProvider(FilterCriteria filter, AggregationFunction function,
+            long bucketSeconds, String table, ZoneId timeZone) {
+        logger.debug("JDBC::histItemAggregateQueryProvider filter = {}, function = {}, bucketSeconds = {}, table = {}",
+                filter, function, bucketSeconds, table);
+
+        String bucket = histItemBucketProvider(bucketSeconds);
+        if (bucket == null) {
+            return null;
+        }
+        String filterString = resolveTimeFilter(filter, timeZone);
+        String order = filter.getOrdering() == Ordering.ASCENDING ? " ASC" : " DESC";
+        String aggregate = histItemAggregateProvider(function);
+        String queryString;
+        if (aggregate == null) {
+            // SELECT time, value FROM item0001 WHERE time IN (SELECT MAX(time) FROM item0001 GROUP BY <bucket>)
+            queryString = "SELECT time, value FROM " + table + " WHERE time IN (SELECT MAX(time) FROM " + table
+                    + filterString + " GROUP BY " + bucket + ") ORDER BY time" + order;
+        } else {
+            queryString = "SELECT " + histItemAggregateTimeProvider(function, bucket) + " AS bucket, " + aggregate
+                    + " FROM " + table + filterString + " GROUP BY " + bucket + " ORDER BY bucket" + order;
+        }
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * Provides the SQL expression rounding the time column down to the start of its bucket.
+     *
+     * @param bucketSeconds the length of a bucket in seconds
+     * @return the SQL expression, or null if the database does not support it
+     */
+    protected @Nullable String histItemBucketProvider(long bucketSeconds) {
+        return "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+    }
+
+    /**
+     * Provides the SQL expression for the timestamp of an aggregated value. It has to keep the order of the buckets.
+     *
+     * @param function the aggregation function
+     * @param bucket the SQL expression of the bucket, see {@link #histItemBucketProvider}
+     * @return the SQL expression, the start of the bucket by default
+     */
+    protected String histItemAggregateTimeProvider(AggregationFunction function, String bucket) {
+        return bucket;
+    }
+
+    /**
+     * Provides the SQL aggregate expression over the value column.
+     *
+     * @param function the aggregation function
+     * @return the SQL expression, or null if {@link AggregationFunction#LAST} has to be resolved with a subquery
+     */
+    protected @Nullable String histItemAggregateProvider(AggregationFunction function) {
+        return function == AggregationFunction.LAST ? null : function.name() + "(value)";
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -553,6 +818,31 @@ public class JdbcBaseDAO {
         return filterString;
     }
 
+    /**
+     * Resolves the insert statement for a single item value.
+     *
+     * @param storedVO the value as returned by {@link #storeItemValueProvider(Item, State, ItemVO)}
+     * @param tablePrimaryValue the SQL expression for the time column, e.g. "NOW()" or "?" for a bound timestamp
+     * @return the SQL statement
+     */
+    protected String insertItemValueSqlProvider(ItemVO storedVO, @Nullable String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { storedVO.getTableName(), Objects.requireNonNullElse(tablePrimaryValue, "") });
+    }
+
+    /**
+     * Builds the parameters for the statement returned by {@link #insertItemValueSqlProvider(ItemVO, String)}.
+     *
+     * @param storedVO the value as returned by {@link #storeItemValueProvider(Item, State, ItemVO)}
+     * @param timestamp the timestamp to bind, or null if the time column is filled by the database
+     * @return the statement parameters
+     */
+    protected Object[] insertItemValueParamsProvider(ItemVO storedVO, java.sql.@Nullable Timestamp timestamp) {
+        return timestamp == null ? new Object[] { storedVO.getValue(), storedVO.getValue() }
+                : new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String queryString = "ALTER TABLE " + itemTable.getTableName() + " RENAME TO " + itemTable.getNewTableName();
         logger.debug("JDBC::query queryString = {}", queryString);
@@ -657,6 +947,38 @@ public class JdbcBaseDAO {
     /*****************
      * H E L P E R S *
      *****************/
+
+    /**
+     * Returns a resolved SQL statement from the cache, resolving and caching it if needed.
+     *
+     * @param tableName the table the statement operates on, used for eviction
+     * @param key identifies the statement within the table, must include everything the statement depends on
+     * @param sqlProvider resolves the statement on a cache miss
+     * @return the SQL statement
+     */
+    protected String getCachedSql(String tableName, String key, Supplier<String> sqlProvider) {
+        return sqlCache.computeIfAbsent(tableName + "|" + key, k -> sqlProvider.get());
+    }
+
+    /**
+     * Removes all cached statements of a table, e.g. when it has been renamed or dropped.
+     *
+     * @param tableName the table name
+     */
+    public void evictCachedSql(String tableName) {
+        String prefix = tableName + "|";
+        synchronized (sqlCache) {
+            sqlCache.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Removes all cached statements, e.g. when the templates or the table index have changed.
+     */
+    public void clearCachedSql() {
+        sqlCache.clear();
+    }
+
     protected State objectAsState(Item item, @Nullable Unit<? extends Quantity<?>> unit, Object v) {
         logger.debug(
                 "JDBC::ItemResultHandler::handleResult getState value = '{}', unit = '{}', getClass = '{}', clazz = '{}'",
@@ -704,6 +1026,10 @@ public class JdbcBaseDAO {
         }
     }
 
+    protected State numberAsState(@Nullable Unit<? extends Quantity<?>> unit, Number value) {
+        return unit == null ? new DecimalType(value.doubleValue()) : QuantityType.valueOf(value.doubleValue(), unit);
+    }
+
     protected ZonedDateTime objectAsZonedDateTime(Object v) {
         if (v instanceof Long) {
             return ZonedDateTime.ofInstant(Instant.ofEpochMilli(((Number) v).longValue()), ZoneId.systemDefault());
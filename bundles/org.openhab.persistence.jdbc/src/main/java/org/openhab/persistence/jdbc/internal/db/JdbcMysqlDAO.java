@@ -86,6 +86,16 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
         databaseProps.setProperty("minimumIdle", "2");
     }
 
+    @Override
+    public void setStatementCacheSize(int statementCacheSize) {
+        databaseProps.setProperty("dataSource.prepStmtCacheSize", String.valueOf(statementCacheSize));
+    }
+
+    @Override
+    public void setServerPreparedStatements(boolean serverPreparedStatements) {
+        databaseProps.setProperty("dataSource.useServerPrepStmts", String.valueOf(serverPreparedStatements));
+    }
+
     @Override
     public void initAfterFirstDbConnection() {
         logger.debug("JDBC::initAfterFirstDbConnection: Initializing step, after db is connected.");
@@ -120,6 +130,12 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected int getStreamingFetchSize() {
+        // Connector/J only streams row by row when the fetch size is Integer.MIN_VALUE
+        return Integer.MIN_VALUE;
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
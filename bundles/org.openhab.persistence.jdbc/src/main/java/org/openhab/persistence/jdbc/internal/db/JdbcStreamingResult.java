@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.HistoricItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcStreamingResult} is a lazily evaluated query result. The query is executed when iteration starts
+ * and rows are fetched from the database in chunks of the fetch size while iterating, so memory usage does not
+ * depend on the number of rows.
+ *
+ * The connection is held until the result is exhausted or {@link #close()} is called. Consumers that stop
+ * iterating early have to close the result themselves. The result can be iterated only once.
+ *
+ * Errors while executing the query or fetching rows are thrown as {@link IllegalStateException}, so a failure is not
+ * mistaken for the end of the result.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcStreamingResult implements Iterable<HistoricItem>, AutoCloseable {
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcStreamingResult.class);
+
+    private final @Nullable DataSource dataSource;
+    private final String sql;
+    private final int fetchSize;
+    private final Function<Object[], HistoricItem> rowMapper;
+    private final AtomicBoolean iterated = new AtomicBoolean();
+
+    private @Nullable Connection connection;
+    private @Nullable Statement statement;
+    private @Nullable ResultSet resultSet;
+
+    public JdbcStreamingResult(DataSource dataSource, String sql, int fetchSize,
+            Function<Object[], HistoricItem> rowMapper) {
+        this((@Nullable DataSource) dataSource, sql, fetchSize, rowMapper);
+    }
+
+    private JdbcStreamingResult(@Nullable DataSource dataSource, String sql, int fetchSize,
+            Function<Object[], HistoricItem> rowMapper) {
+        this.dataSource = dataSource;
+        this.sql = sql;
+        this.fetchSize = fetchSize;
+        this.rowMapper = rowMapper;
+    }
+
+    /**
+     * Creates a result without any rows, not using the database.
+     */
+    public static JdbcStreamingResult empty() {
+        return new JdbcStreamingResult(null, "", 0, row -> {
+            throw new NoSuchElementException();
+        });
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        if (iterated.getAndSet(true)) {
+            throw new IllegalStateException("Streaming result can only be iterated once");
+        }
+        ResultSet rs = open();
+        return new Iterator<>() {
+            private @Nullable HistoricItem next;
+            private boolean done = rs == null;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !done) {
+                    next = fetch(rs);
+                    done = next == null;
+                }
+                return next != null;
+            }
+
+            @Override
+            public HistoricItem next() {
+                HistoricItem item = hasNext() ? next : null;
+                if (item == null) {
+                    throw new NoSuchElementException();
+                }
+                next = null;
+                return item;
+            }
+        };
+    }
+
+    private @Nullable ResultSet open() {
+        DataSource dataSource = this.dataSource;
+        if (dataSource == null) {
+            return null;
+        }
+        try {
+            Connection connection = dataSource.getConnection();
+            this.connection = connection;
+            // PostgreSQL only uses a cursor within a transaction, other drivers do not mind
+            connection.setAutoCommit(false);
+            Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            this.statement = statement;
+            statement.setFetchSize(fetchSize);
+            logger.debug("JDBC::JdbcStreamingResult sql={} fetchSize={}", sql, fetchSize);
+            ResultSet resultSet = statement.executeQuery(sql);
+            this.resultSet = resultSet;
+            return resultSet;
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("Unable to execute query '" + sql + "'", e);
+        }
+    }
+
+    private @Nullable HistoricItem fetch(@Nullable ResultSet rs) {
+        if (rs == null) {
+            return null;
+        }
+        try {
+            if (rs.next()) {
+                return rowMapper.apply(new Object[] { rs.getObject(1), rs.getObject(2) });
+            }
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("Unable to fetch row of query '" + sql + "'", e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        close();
+        return null;
+    }
+
+    /**
+     * Releases the database connection. Called automatically when the result is exhausted.
+     */
+    @Override
+    public synchronized void close() {
+        ResultSet resultSet = this.resultSet;
+        Statement statement = this.statement;
+        Connection connection = this.connection;
+        this.resultSet = null;
+        this.statement = null;
+        this.connection = null;
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            logger.debug("JDBC::JdbcStreamingResult: Unable to close statement: {}", e.getMessage());
+        }
+        if (connection != null) {
+            try {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.debug("JDBC::JdbcStreamingResult: Unable to end transaction: {}", e.getMessage());
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("JDBC::JdbcStreamingResult: Unable to close connection: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -15,8 +15,10 @@ package org.openhab.persistence.jdbc.internal.db;
 import java.util.Properties;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.persistence.jdbc.internal.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -46,6 +48,23 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
         return properties;
     }
 
+    @Override
+    protected @Nullable String histItemBucketProvider(long bucketSeconds) {
+        return "time_bucket('" + bucketSeconds + " seconds', time)";
+    }
+
+    @Override
+    protected @Nullable String histItemAggregateProvider(AggregationFunction function) {
+        // TimescaleDB provides last() as an aggregate function, so no subquery is needed
+        return function == AggregationFunction.LAST ? "last(value, time)" : super.histItemAggregateProvider(function);
+    }
+
+    @Override
+    protected String histItemAggregateTimeProvider(AggregationFunction function, String bucket) {
+        // the last value keeps its own timestamp, like the subquery used by the other databases
+        return function == AggregationFunction.LAST ? "max(time)" : bucket;
+    }
+
     @Override
     public void doCreateItemTable(ItemVO vo) throws JdbcSQLException {
         super.doCreateItemTable(vo);
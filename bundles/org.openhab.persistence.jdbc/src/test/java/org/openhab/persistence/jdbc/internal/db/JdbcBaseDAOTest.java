@@ -14,6 +14,7 @@ package org.openhab.persistence.jdbc.internal.db;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -23,6 +24,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
 
@@ -65,7 +67,11 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.AggregationFunction;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -194,6 +200,52 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testHistItemAggregateQueryProviderReturnsGroupByQueryAscendingOrder() {
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setPageSize(1);
+
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, AggregationFunction.AVG, 3600, DB_TABLE_NAME,
+                UTC_ZONE_ID);
+        String bucket = "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / 3600) * 3600)";
+        assertThat(sql, is("SELECT " + bucket + " AS bucket, AVG(value) FROM " + DB_TABLE_NAME + " GROUP BY " + bucket
+                + " ORDER BY bucket ASC"));
+    }
+
+    @Test
+    void testHistItemAggregateQueryProviderWithStartDateReturnsLastValuePerBucketQuery() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, AggregationFunction.LAST, 60, DB_TABLE_NAME,
+                UTC_ZONE_ID);
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE time IN (SELECT MAX(time) FROM "
+                + DB_TABLE_NAME + " WHERE TIME>='"
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
+                + "' GROUP BY FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / 60) * 60)) ORDER BY time DESC"));
+    }
+
+    @Test
+    void testAggregateInMemoryReturnsOneValuePerBucket() {
+        List<HistoricItem> values = List.of(
+                new JdbcHistoricItem("item", new DecimalType(1), parseDateTimeString("2022-01-10T15:00:10")),
+                new JdbcHistoricItem("item", new DecimalType(3), parseDateTimeString("2022-01-10T15:00:50")),
+                new JdbcHistoricItem("item", new DecimalType(8), parseDateTimeString("2022-01-10T15:02:05")));
+
+        List<HistoricItem> avg = jdbcBaseDAO.aggregate("item", values, AggregationFunction.AVG, 60, null,
+                Ordering.ASCENDING);
+        assertThat(avg.size(), is(2));
+        assertEquals(new DecimalType(2), avg.get(0).getState());
+        assertEquals(parseDateTimeString("2022-01-10T15:00:00"), avg.get(0).getTimestamp());
+        assertEquals(new DecimalType(8), avg.get(1).getState());
+        assertEquals(parseDateTimeString("2022-01-10T15:02:00"), avg.get(1).getTimestamp());
+
+        List<HistoricItem> last = jdbcBaseDAO.aggregate("item", values, AggregationFunction.LAST, 60, null,
+                Ordering.DESCENDING);
+        assertThat(last.size(), is(2));
+        assertThat(last.get(0), is(values.get(2)));
+        assertThat(last.get(1), is(values.get(1)));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
@@ -249,6 +301,27 @@ public class JdbcBaseDAOTest {
                         + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
     }
 
+    @Test
+    void testInsertItemValueSqlProviderWithBoundTimestampReturnsInsertQuery() {
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+        vo.setValue(7.3);
+
+        String sql = jdbcBaseDAO.insertItemValueSqlProvider(vo, "?");
+        assertThat(sql,
+                is("INSERT INTO " + DB_TABLE_NAME + " (time, value) VALUES( ?, ? ) ON DUPLICATE KEY UPDATE VALUE= ?"));
+    }
+
+    @Test
+    void testInsertItemValueParamsProviderWithTimestampReturnsTimestampFirst() {
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+        vo.setValue(7.3);
+        java.sql.Timestamp timestamp = java.sql.Timestamp.valueOf("2022-01-10 15:01:44");
+
+        assertArrayEquals(new Object[] { timestamp, 7.3, 7.3 },
+                jdbcBaseDAO.insertItemValueParamsProvider(vo, timestamp));
+        assertArrayEquals(new Object[] { 7.3, 7.3 }, jdbcBaseDAO.insertItemValueParamsProvider(vo, null));
+    }
+
     private ZonedDateTime parseDateTimeString(String dts) {
         return ZonedDateTime.of(LocalDateTime.parse(dts, DATE_PARSER), UTC_ZONE_ID);
     }
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.ZoneId;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.persistence.jdbc.internal.AggregationFunction;
+
+/**
+ * Tests the {@link JdbcPostgresqlDAO}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcPostgresqlDAOTest {
+
+    private static final String DB_TABLE_NAME = "testitem";
+
+    private final JdbcPostgresqlDAO jdbcPostgresqlDAO = new JdbcPostgresqlDAO();
+
+    @Test
+    void testHistItemAggregateQueryProviderReturnsBucketsInUtc() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcPostgresqlDAO.histItemAggregateQueryProvider(filter, AggregationFunction.MAX, 900,
+                DB_TABLE_NAME, ZoneId.of("Europe/Berlin"));
+        String bucket = "(TO_TIMESTAMP(FLOOR(EXTRACT(EPOCH FROM time) / 900) * 900) AT TIME ZONE 'UTC')";
+        assertThat(sql, is("SELECT " + bucket + " AS bucket, MAX(value) FROM " + DB_TABLE_NAME + " GROUP BY " + bucket
+                + " ORDER BY bucket ASC"));
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,12 +36,18 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_FLUSH_INTERVAL = "flushInterval";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
 
     public final String dbConnectionUrl;
     public final String dbDriverClass;
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final long flushInterval;
+    public final int batchSize;
 
     public JpaConfiguration(final Map<String, @Nullable Object> properties) throws IllegalArgumentException {
         logger.debug("Creating JPA config...");
@@ -81,6 +88,12 @@ public class JpaConfiguration {
         }
         dbSyncMapping = param == null ? "" : param;
 
+        flushInterval = Math.max(0, ConfigParser.valueAsOrElse(properties.get(CFG_FLUSH_INTERVAL), Long.class, 0L));
+        logger.debug("flushInterval: {}", flushInterval);
+        batchSize = Math.max(1,
+                ConfigParser.valueAsOrElse(properties.get(CFG_BATCH_SIZE), Integer.class, DEFAULT_BATCH_SIZE));
+        logger.debug("batchSize: {}", batchSize);
+
         logger.debug("Creating JPA config... done");
     }
 }
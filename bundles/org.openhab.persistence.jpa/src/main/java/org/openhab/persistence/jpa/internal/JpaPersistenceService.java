@@ -12,15 +12,23 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -65,10 +73,20 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     private static final String SERVICE_LABEL = "JPA";
     protected static final String CONFIG_URI = "persistence:jpa";
 
+    private static final int MAX_PENDING_ITEMS = 10000;
+    private static final long PENDING_TIMEOUT_SECONDS = 10;
+    private static final int QUERY_FETCH_SIZE = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JpaPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
 
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.jpa");
+    private final BlockingQueue<PendingItem> pendingItems = new LinkedBlockingQueue<>(MAX_PENDING_ITEMS);
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> flushJob;
+
     private @Nullable EntityManagerFactory emf;
 
     private @NonNullByDefault({}) JpaConfiguration config;
@@ -83,6 +101,12 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         try {
             config = new JpaConfiguration(properties);
             initialized = true;
+            if (config.flushInterval > 0) {
+                logger.debug("Writing buffered items in batches of {} every {} ms", config.batchSize,
+                        config.flushInterval);
+                flushJob = scheduler.scheduleWithFixedDelay(this::flush, config.flushInterval, config.flushInterval,
+                        TimeUnit.MILLISECONDS);
+            }
         } catch (IllegalArgumentException e) {
             logger.warn("{}", e.getMessage());
         }
@@ -108,6 +132,12 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating JPA persistence service");
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flush();
         closeEntityManagerFactory();
     }
 
@@ -143,19 +173,104 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         // determine item name to be stored
         String name = (alias != null) ? alias : item.getName();
 
-        JpaPersistentItem pItem = new JpaPersistentItem();
+        String newValue;
         try {
-            String newValue = StateHelper.toString(item.getState());
-            pItem.setValue(newValue);
+            newValue = StateHelper.toString(item.getState());
             logger.debug("Stored new value: {}", newValue);
         } catch (Exception e1) {
             logger.error("Error while converting state value to string: {}", e1.getMessage());
             return;
         }
-        pItem.setName(name);
-        pItem.setRealName(item.getName());
-        pItem.setTimestamp(new Date());
+        PendingItem pendingItem = new PendingItem(name, item.getName(), newValue, new Date());
+
+        if (config.flushInterval > 0) {
+            if (addPendingItem(pendingItem)) {
+                logger.debug("Buffered item {}", name);
+            } else {
+                logger.warn("Write buffer is full. Item '{}' not persisted.", name);
+            }
+            return;
+        }
+
+        persist(pendingItem.toEntity());
+
+        logger.debug("Storing item...done");
+    }
+
+    /**
+     * Adds an item to the write buffer. If the buffer is full, the caller is slowed down until the pending items have
+     * been written.
+     *
+     * @return false if the item could not be added to the buffer
+     */
+    private boolean addPendingItem(PendingItem pendingItem) {
+        if (pendingItems.offer(pendingItem)) {
+            if (pendingItems.size() >= config.batchSize && flushScheduled.compareAndSet(false, true)) {
+                scheduler.execute(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                });
+            }
+            return true;
+        }
+        flush();
+        try {
+            return pendingItems.offer(pendingItem, PENDING_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 
+    /**
+     * Writes all buffered items, using one transaction for up to batchSize items.
+     */
+    private void flush() {
+        if (!initialized || pendingItems.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            List<PendingItem> batch = new ArrayList<>(config.batchSize);
+            while (pendingItems.drainTo(batch, config.batchSize) > 0) {
+                persistBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Persists the items in one transaction. If the transaction fails, e.g. because of a duplicate timestamp, the items
+     * are persisted one by one so that only the failing ones are lost.
+     */
+    private void persistBatch(List<PendingItem> batch) {
+        logger.debug("Persisting {} items...", batch.size());
+        EntityManager em = getEntityManagerFactory().createEntityManager();
+        try {
+            em.getTransaction().begin();
+            for (PendingItem pendingItem : batch) {
+                em.persist(pendingItem.toEntity());
+            }
+            em.getTransaction().commit();
+            logger.debug("Persisting {} items...done", batch.size());
+            return;
+        } catch (Exception e) {
+            logger.debug("Failed to persist {} items in one transaction, persisting them one by one: {}",
+                    batch.size(), e.getMessage());
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+        } finally {
+            em.close();
+        }
+
+        // entities of the rolled back transaction must not be reused
+        for (PendingItem pendingItem : batch) {
+            persist(pendingItem.toEntity());
+        }
+    }
+
+    private void persist(JpaPersistentItem pItem) {
+        String name = pItem.getName();
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             logger.debug("Persisting item...");
@@ -176,8 +291,6 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         } finally {
             em.close();
         }
-
-        logger.debug("Storing item...done");
     }
 
     @Override
@@ -199,6 +312,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.warn("Item name is missing in filter {}", filter);
             return List.of();
         }
+
+        // make sure buffered values are included in the result
+        flush();
+
         Item item = getItemFromRegistry(itemName);
         if (item == null) {
             logger.debug("Item '{}' does not exist in the item registry", itemName);
@@ -243,8 +360,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
                 query.setParameter("endDate", Date.from(filter.getEndDate().toInstant()));
             }
 
-            query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
-            query.setMaxResults(filter.getPageSize());
+            // let the database apply the paging, the default page size means all rows
+            int pageSize = filter.getPageSize();
+            if (pageSize != Integer.MAX_VALUE) {
+                query.setFirstResult(filter.getPageNumber() * pageSize);
+                query.setMaxResults(pageSize);
+            }
+            query.setHint("openjpa.FetchPlan.FetchBatchSize", Math.min(pageSize, QUERY_FETCH_SIZE));
             logger.debug("Creating query...done");
 
             logger.debug("Retrieving result list...");
@@ -288,6 +410,8 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         if (config.dbUserName.isBlank() && config.dbPassword.isBlank()) {
             logger.info("It is recommended to use a password to protect the JPA persistence data store");
         }
+        // send the inserts of a transaction to the database in batches
+        properties.put("openjpa.jdbc.DBDictionary", "batchLimit=" + config.batchSize);
         if (!config.dbSyncMapping.isBlank()) {
             logger.info("You are setting openjpa.jdbc.SynchronizeMappings, I hope you know what you're doing!");
             properties.put("openjpa.jdbc.SynchronizeMappings", config.dbSyncMapping);
@@ -347,4 +471,15 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of();
     }
+
+    private record PendingItem(String name, String realName, String value, Date timestamp) {
+        JpaPersistentItem toEntity() {
+            JpaPersistentItem pItem = new JpaPersistentItem();
+            pItem.setName(name);
+            pItem.setRealName(realName);
+            pItem.setValue(value);
+            pItem.setTimestamp(timestamp);
+            return pItem;
+        }
+    }
 }
@@ -24,16 +24,23 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -48,6 +55,7 @@ import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,8 +70,10 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
@@ -71,23 +81,39 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String LEGACY_MAP_NAME = "itemStore";
+    private static final String MAP_NAME = "itemStoreBinary";
+
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final long COMMIT_INTERVAL_DEFAULT = 0;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("persistence");
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
+
+    /**
+     * holds the decoded items, so that queries do not have to read from the database
+     */
+    private final Map<String, MapDbItem> items = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean uncommittedChanges = new AtomicBoolean();
+    private volatile long commitInterval = COMMIT_INTERVAL_DEFAULT;
+    private @Nullable ScheduledFuture<?> commitJob;
 
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
         try {
@@ -101,7 +127,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            map = openMap(db);
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -133,21 +159,93 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                map = openMap(db);
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
+                return;
             }
         }
+        loadItems();
+        modified(config);
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        commitInterval = Math.max(0, ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Long.class,
+                COMMIT_INTERVAL_DEFAULT));
+
+        ScheduledFuture<?> commitJob = this.commitJob;
+        if (commitJob != null) {
+            commitJob.cancel(false);
+            this.commitJob = null;
+        }
+        if (commitInterval > 0) {
+            this.commitJob = scheduler.scheduleWithFixedDelay(this::commit, commitInterval, commitInterval,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            commit();
+        }
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        ScheduledFuture<?> commitJob = this.commitJob;
+        if (commitJob != null) {
+            commitJob.cancel(false);
+            this.commitJob = null;
+        }
         if (db != null) {
+            commit();
             db.close();
         }
+        items.clear();
+    }
+
+    /**
+     * Opens the map of binary encoded items and migrates the items of the JSON encoded map used by older versions.
+     */
+    private Map<String, byte[]> openMap(DB db) {
+        Map<String, byte[]> map = db.createTreeMap(MAP_NAME).valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        if (db.exists(LEGACY_MAP_NAME)) {
+            Map<String, String> legacyMap = db.getTreeMap(LEGACY_MAP_NAME);
+            logger.info("Converting {} items of the MapDB to the binary format", legacyMap.size());
+            List<String> jsonItems = List.copyOf(legacyMap.values());
+            jsonItems.parallelStream().map(this::deserializeJson).flatMap(MapDbPersistenceService::streamOptional)
+                    .forEach(item -> {
+                        byte[] data = serialize(item);
+                        if (data != null) {
+                            map.put(item.getName(), data);
+                        }
+                    });
+            db.delete(LEGACY_MAP_NAME);
+            db.commit();
+        }
+        return map;
+    }
+
+    /**
+     * Decodes all stored items in parallel, so that restoring them on startup does not have to wait for the database.
+     */
+    private void loadItems() {
+        long start = System.currentTimeMillis();
+        List<byte[]> storedItems = List.copyOf(map.values());
+        storedItems.parallelStream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+                .forEach(item -> items.put(item.getName(), item));
+        logger.debug("Loaded {} items from MapDB in {} ms", items.size(), System.currentTimeMillis() - start);
+    }
+
+    private void commit() {
+        if (db != null && uncommittedChanges.getAndSet(false)) {
+            try {
+                db.commit();
+            } catch (RuntimeException e) {
+                uncommittedChanges.set(true);
+                logger.warn("Failed to commit changes to MapDB: {}", e.getMessage());
+            }
+        }
     }
 
     @Override
@@ -162,8 +260,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        return Set.<PersistenceItemInfo> copyOf(items.values());
     }
 
     @Override
@@ -186,30 +283,51 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
+        items.put(localAlias, mItem);
         threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+            byte[] data = serialize(mItem);
+            // skip the value if it has already been replaced by a more recent one
+            if (data == null || items.get(localAlias) != mItem) {
+                return;
+            }
+            map.put(localAlias, data);
+            uncommittedChanges.set(true);
+            if (commitInterval == 0) {
+                commit();
+            }
+            logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
         });
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
-            return List.of();
+        String itemName = filter.getItemName();
+        MapDbItem item = itemName == null ? null : items.get(itemName);
+        return item == null ? List.of() : List.of(item);
+    }
+
+    private byte @Nullable [] serialize(MapDbItem item) {
+        try {
+            return MapDbItemSerializer.serialize(item);
+        } catch (IOException e) {
+            logger.warn("Failed to serialize '{}': {}", item, e.getMessage());
+            return null;
         }
-        Optional<MapDbItem> item = deserialize(json);
-        return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private Optional<MapDbItem> deserialize(byte[] data) {
+        try {
+            MapDbItem item = MapDbItemSerializer.deserialize(data);
+            logger.trace("Deserialized '{}' with state '{}'", item.getName(), item.getState());
+            return Optional.of(item);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to deserialize item: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
+    private Optional<MapDbItem> deserializeJson(String json) {
         MapDbItem item = mapper.fromJson(json, MapDbItem.class);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
@@ -21,11 +21,20 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -41,6 +50,7 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.mongodb.internal.MongoDBWriteBuffer.PendingDocument;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
@@ -51,10 +61,13 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -70,8 +83,25 @@ import com.mongodb.client.result.DeleteResult;
                 + "=org.openhab.mongodb")
 public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
+    private static final int DEFAULT_BUFFER_SIZE = 10000;
+    private static final int FLUSH_THRESHOLD = 1000;
+    private static final int MAXIMUM_WRITE_ATTEMPTS = 5;
+    private static final long DROP_WARNING_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int QUERY_BATCH_SIZE = 1000;
+    private static final Bson QUERY_PROJECTION = Projections.fields(
+            Projections.include(MongoDBFields.FIELD_TIMESTAMP, MongoDBFields.FIELD_VALUE, MongoDBFields.FIELD_UNIT,
+                    MongoDBFields.FIELD_REALNAME),
+            Projections.excludeId());
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.mongodb");
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger droppedDocuments = new AtomicInteger();
+    private volatile long lastDropWarning;
+
     private String url = "";
     private String db = "";
     private String collection = "";
@@ -83,6 +113,10 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     private @Nullable MongoClient cl;
 
+    private volatile @Nullable MongoDBWriteBuffer writeBuffer;
+    private @Nullable ScheduledFuture<?> flushJob;
+    private int flushThreshold = FLUSH_THRESHOLD;
+
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
@@ -114,6 +148,17 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        long flushInterval = ConfigParser.valueAsOrElse(config.get("flushInterval"), Long.class, 0L);
+        if (flushInterval > 0) {
+            int bufferSize = Math.max(1,
+                    ConfigParser.valueAsOrElse(config.get("bufferSize"), Integer.class, DEFAULT_BUFFER_SIZE));
+            logger.debug("MongoDB write buffer for {} documents, flushed every {} ms", bufferSize, flushInterval);
+            writeBuffer = new MongoDBWriteBuffer(bufferSize);
+            flushThreshold = Math.min(FLUSH_THRESHOLD, bufferSize);
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
@@ -124,6 +169,13 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flush();
+        writeBuffer = null;
         disconnectFromDatabase();
     }
 
@@ -207,11 +259,16 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     }
 
     /**
-     * Connects to the Collection
+     * Connects to the Collection. Collections are cached, the index on item and timestamp is only created when the
+     * collection is first used.
      *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        MongoCollection<Document> cachedCollection = collections.get(collectionName);
+        if (cachedCollection != null) {
+            return cachedCollection;
+        }
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -227,6 +284,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
 
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -244,10 +302,14 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
 
         cl = null;
+        collections.clear();
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        // make sure buffered values are included in the result
+        flush();
+
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
@@ -279,8 +341,10 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
         MongoCursor<Document> cursor = null;
         try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
-                    .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
+            cursor = collection.find(query).projection(QUERY_PROJECTION)
+                    .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
+                    .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize())
+                    .batchSize(Math.min(filter.getPageSize(), QUERY_BATCH_SIZE)).iterator();
 
             while (cursor.hasNext()) {
                 Document obj = cursor.next();
@@ -346,6 +410,28 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
+        String realItemName = item.getName();
+        String collectionName = collectionPerItem ? realItemName : this.collection;
+        String name = (alias != null) ? alias : realItemName;
+        Object value = MongoDBTypeConversions.convertValue(state);
+
+        Document obj = new Document();
+        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
+        obj.put(MongoDBFields.FIELD_ITEM, name);
+        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
+        obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
+        obj.put(MongoDBFields.FIELD_VALUE, value);
+        if (item instanceof NumberItem && state instanceof QuantityType<?>) {
+            obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
+        }
+
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            addToWriteBuffer(writeBuffer, collectionName, obj);
+            logger.debug("MongoDB buffered {}={}", name, value);
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -355,9 +441,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String realItemName = item.getName();
-        String collectionName = collectionPerItem ? realItemName : this.collection;
-
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
@@ -366,18 +449,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String name = (alias != null) ? alias : realItemName;
-        Object value = MongoDBTypeConversions.convertValue(state);
-
-        Document obj = new Document();
-        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
-        obj.put(MongoDBFields.FIELD_ITEM, name);
-        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
-        obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
-        obj.put(MongoDBFields.FIELD_VALUE, value);
-        if (item instanceof NumberItem && state instanceof QuantityType<?>) {
-            obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
-        }
         try {
             collection.insertOne(obj);
         } catch (org.bson.BsonMaximumSizeExceededException e) {
@@ -387,6 +458,92 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    /**
+     * Adds a document to the write buffer without blocking the caller. If the buffer is full, the oldest documents
+     * are dropped. A flush is triggered asynchronously once enough documents are pending.
+     */
+    private void addToWriteBuffer(MongoDBWriteBuffer writeBuffer, String collectionName, Document document) {
+        int dropped = writeBuffer.offer(collectionName, document);
+        if (dropped > 0) {
+            documentsDropped(dropped, "the write buffer is full");
+        }
+        if (writeBuffer.size() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Counts dropped documents and logs them at most once per minute, to avoid flooding the log while the database is
+     * unavailable.
+     */
+    private void documentsDropped(int count, String reason) {
+        int total = droppedDocuments.addAndGet(count);
+        long now = System.currentTimeMillis();
+        long lastWarning = lastDropWarning;
+        if (now - lastWarning >= DROP_WARNING_INTERVAL_MILLIS) {
+            lastDropWarning = now;
+            droppedDocuments.addAndGet(-total);
+            logger.warn("mongodb: Dropped {} buffered documents, {}.", total, reason);
+        }
+    }
+
+    /**
+     * Writes all buffered documents with one unordered bulk insert per collection. If there is no connection to the
+     * database, the documents are kept in the buffer. Documents which could not be written are put back into the
+     * buffer and retried with the next flush.
+     */
+    private void flush() {
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null || writeBuffer.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (!tryConnectToDatabase()) {
+                logger.warn("mongodb: No connection to database. Keeping {} documents in the write buffer.",
+                        writeBuffer.size());
+                return;
+            }
+            for (Map.Entry<String, List<PendingDocument>> entry : writeBuffer.drain().entrySet()) {
+                List<PendingDocument> failed = insertMany(entry.getKey(), entry.getValue());
+                int dropped = writeBuffer.requeue(failed, MAXIMUM_WRITE_ATTEMPTS);
+                if (dropped > 0) {
+                    documentsDropped(dropped, "they could not be written to the database");
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the documents which have not been written
+     */
+    private List<PendingDocument> insertMany(String collectionName, List<PendingDocument> pendingDocuments) {
+        @Nullable
+        MongoCollection<Document> collection = connectToCollection(collectionName);
+        if (collection == null) {
+            // Logging is done in connectToCollection()
+            return pendingDocuments;
+        }
+
+        List<Document> documents = pendingDocuments.stream().map(PendingDocument::document).toList();
+        try {
+            collection.insertMany(documents, new InsertManyOptions().ordered(false));
+            logger.debug("MongoDB saved {} documents to collection {}", documents.size(), collectionName);
+            return List.of();
+        } catch (MongoBulkWriteException e) {
+            // the insert is unordered, so only the documents with a write error are missing
+            logger.debug("Failed to persist {} of {} documents to collection {}: {}", e.getWriteErrors().size(),
+                    documents.size(), collectionName, e.getMessage());
+            return e.getWriteErrors().stream().map(error -> pendingDocuments.get(error.getIndex())).toList();
+        } catch (RuntimeException e) {
+            logger.debug("Failed to persist {} documents to collection {}: {}", documents.size(), collectionName,
+                    e.getMessage());
+            return pendingDocuments;
+        }
+    }
+
     @Nullable
     public MongoCollection<Document> prepareCollection(FilterCriteria filter) {
         if (!initialized || !tryConnectToDatabase()) {
@@ -467,6 +624,9 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Override
     public boolean remove(FilterCriteria filter) {
+        // make sure buffered values are removed as well
+        flush();
+
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link MongoDBWriteBuffer} is a bounded queue of documents waiting to be inserted into the database.
+ * Documents are drained grouped per collection, so that each group can be written with a single bulk insert.
+ * Documents which could not be written are put back into the buffer until they have failed too often.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBWriteBuffer {
+
+    private final BlockingQueue<PendingDocument> queue;
+
+    /**
+     * A buffered document together with the number of failed attempts to write it.
+     */
+    public record PendingDocument(String collectionName, Document document, int failedAttempts) {
+    }
+
+    public MongoDBWriteBuffer(int capacity) {
+        queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Adds a document to the buffer without waiting. If the buffer is full, the oldest documents are dropped to make
+     * space for the new one.
+     *
+     * @return the number of dropped documents
+     */
+    public int offer(String collectionName, Document document) {
+        PendingDocument pendingDocument = new PendingDocument(collectionName, document, 0);
+        int dropped = 0;
+        while (!queue.offer(pendingDocument)) {
+            if (queue.poll() != null) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Puts documents which could not be written back into the buffer. Documents which have failed the given number of
+     * times, or which do not fit into the buffer anymore, are dropped.
+     *
+     * @return the number of dropped documents
+     */
+    public int requeue(List<PendingDocument> documents, int maximumAttempts) {
+        int dropped = 0;
+        for (PendingDocument document : documents) {
+            int failedAttempts = document.failedAttempts() + 1;
+            if (failedAttempts >= maximumAttempts || !queue.offer(
+                    new PendingDocument(document.collectionName(), document.document(), failedAttempts))) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Removes all pending documents from the buffer.
+     *
+     * @return the documents grouped by collection name, in insertion order
+     */
+    public Map<String, List<PendingDocument>> drain() {
+        List<PendingDocument> pending = new ArrayList<>(queue.size());
+        queue.drainTo(pending);
+        Map<String, List<PendingDocument>> documentsByCollection = new LinkedHashMap<>();
+        for (PendingDocument pendingDocument : pending) {
+            documentsByCollection.computeIfAbsent(pendingDocument.collectionName(), k -> new ArrayList<>())
+                    .add(pendingDocument);
+        }
+        return documentsByCollection;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+}
@@ -427,6 +427,58 @@ public class MongoDBPersistenceServiceTest {
         }
     }
 
+    /**
+     * Tests the query method of MongoDBPersistenceService with NumberItems stored through the write buffer.
+     *
+     * This test checks if the query method includes NumberItems which have not been flushed yet.
+     * It uses different database backends provided by the provideDatabaseBackends method.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testQueryNumberItemsWithWriteBuffer(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+
+            // Add items to the ItemRegistry
+            NumberItem itemReg1 = DataCreationHelper.createNumberItem("TestItem", 0);
+            NumberItem itemReg2 = DataCreationHelper.createNumberItem("TestItem2", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg1);
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem2")).thenReturn(itemReg2);
+            } catch (ItemNotFoundException e) {
+            }
+
+            // Use an interval that does not elapse during the test
+            setupResult.config.put("flushInterval", 60000L);
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            // Store some items
+            for (int i = 0; i < 10; i++) {
+                NumberItem item1 = DataCreationHelper.createNumberItem("TestItem", i);
+                NumberItem item2 = DataCreationHelper.createNumberItem("TestItem2", i * 2);
+                service.store(item1, null);
+                service.store(item2, null);
+            }
+
+            // Execution
+            FilterCriteria filter1 = DataCreationHelper.createFilterCriteria("TestItem");
+            Iterable<HistoricItem> result1 = service.query(filter1);
+
+            FilterCriteria filter2 = DataCreationHelper.createFilterCriteria("TestItem2");
+            Iterable<HistoricItem> result2 = service.query(filter2);
+
+            // Verification
+            VerificationHelper.verifyQueryResult(result1, 0, 1, 10);
+            VerificationHelper.verifyQueryResult(result2, 0, 2, 10);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
     /**
      * Tests the query method of MongoDBPersistenceService with NumberItems in multiple collections.
      *
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.mongodb.internal.MongoDBWriteBuffer.PendingDocument;
+
+/**
+ * Tests for {@link MongoDBWriteBuffer}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBWriteBufferTest {
+
+    @Test
+    public void offerDropsOldestDocumentWhenFull() {
+        MongoDBWriteBuffer buffer = new MongoDBWriteBuffer(2);
+        assertEquals(0, buffer.offer("c", new Document("v", 1)));
+        assertEquals(0, buffer.offer("c", new Document("v", 2)));
+        assertEquals(1, buffer.offer("c", new Document("v", 3)));
+
+        List<PendingDocument> pending = buffer.drain().getOrDefault("c", List.of());
+        assertEquals(List.of(2, 3), pending.stream().map(p -> p.document().get("v")).toList());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void requeueDropsDocumentsAfterMaximumAttempts() {
+        MongoDBWriteBuffer buffer = new MongoDBWriteBuffer(10);
+        buffer.offer("c", new Document("v", 1));
+
+        for (int attempt = 1; attempt < 3; attempt++) {
+            List<PendingDocument> failed = buffer.drain().getOrDefault("c", List.of());
+            assertEquals(0, buffer.requeue(failed, 3));
+            assertEquals(1, buffer.size());
+        }
+        Map<String, List<PendingDocument>> drained = buffer.drain();
+        assertEquals(2, drained.getOrDefault("c", List.of()).get(0).failedAttempts());
+        assertEquals(1, buffer.requeue(drained.getOrDefault("c", List.of()), 3));
+        assertEquals(0, buffer.size());
+    }
+}
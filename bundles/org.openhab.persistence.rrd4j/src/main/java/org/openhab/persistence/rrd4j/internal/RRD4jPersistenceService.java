@@ -22,13 +22,17 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
@@ -45,6 +49,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -78,18 +83,27 @@ import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * This is the implementation of the RRD4j {@link PersistenceService}. To learn
  * more about RRD4j please visit their
@@ -123,8 +137,14 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
+    private static final int LOCK_STRIPES = 64;
+    private static final int FLUSH_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private static final String METRIC_PREFIX = "openhab.persistence.rrd4j.";
+
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory("RRD4j"));
+    private final ExecutorService flushExecutor = Executors.newFixedThreadPool(FLUSH_THREADS,
+            new NamedThreadFactory("RRD4j-flush"));
 
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
@@ -136,10 +156,43 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private static final String CONFIG_BACKEND = "backend";
+    private static final String CONFIG_SYNC_PERIOD = "syncPeriod";
+    private static final String CONFIG_MAX_OPEN_FILES = "maxOpenFiles";
+    private static final String BACKEND_FILE = "file";
+    private static final String BACKEND_NIO = "nio";
+    private static final int DEFAULT_SYNC_PERIOD = 300;
+
+    private static volatile RrdBackendFactory backendFactory = RrdBackendFactory.getDefaultFactory();
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
 
+    // writes to different items may run in parallel, writes to the same item must not
+    private final Object[] itemLocks = new Object[LOCK_STRIPES];
+
+    // one reference per recently written database keeps the file open in the pool between two samples, at most half
+    // of the pool capacity is used so that queries and charts can still open databases
+    private volatile int maxOpenDatabases = Math.max(1, DATABASE_POOL.getCapacity() / 2);
+    private final Map<String, RrdDb> openDatabases = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, RrdDb> eldest) {
+                    if (eldest != null && size() > maxOpenDatabases) {
+                        closeDB(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            });
+
+    private volatile @Nullable MeterRegistry meterRegistry;
+    private volatile @Nullable Timer flushTimer;
+    private final List<Meter> meters = new CopyOnWriteArrayList<>();
+
     public static Path getDatabasePath(String name) {
         return DB_FOLDER.resolve(name + ".rrd");
     }
@@ -148,11 +201,18 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    public static RrdBackendFactory getBackendFactory() {
+        return backendFactory;
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            itemLocks[i] = new Object();
+        }
         storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         modified(config);
         active = true;
@@ -163,6 +223,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         // clean existing definitions
         rrdDefs.clear();
 
+        configureBackend(config);
+
         // add default configurations
 
         RrdDefConfig defaultNumeric = new RrdDefConfig(DEFAULT_NUMERIC);
@@ -211,7 +273,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
+            if ("service.pid".equals(key) || "component.name".equals(key) || CONFIG_BACKEND.equals(key)
+                    || CONFIG_SYNC_PERIOD.equals(key) || CONFIG_MAX_OPEN_FILES.equals(key)) {
                 // ignore service.pid and name
                 continue;
             }
@@ -266,6 +329,49 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private void configureBackend(final Map<String, Object> config) {
+        int maxOpenFiles = Math.max(1, DATABASE_POOL.getCapacity() / 2);
+        int syncPeriod = DEFAULT_SYNC_PERIOD;
+        try {
+            Object v = config.get(CONFIG_MAX_OPEN_FILES);
+            if (v != null && !v.toString().isBlank()) {
+                maxOpenFiles = Math.max(1, Integer.parseInt(v.toString().trim()));
+            }
+            v = config.get(CONFIG_SYNC_PERIOD);
+            if (v != null && !v.toString().isBlank()) {
+                syncPeriod = Math.max(1, Integer.parseInt(v.toString().trim()));
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring illegal configuration: {}", e.getMessage());
+        }
+        if (DATABASE_POOL.getCapacity() < maxOpenFiles * 2) {
+            // the pool blocks when its capacity is exhausted, leave room for queries and charts
+            DATABASE_POOL.setCapacity(maxOpenFiles * 2);
+        }
+        maxOpenDatabases = maxOpenFiles;
+
+        Object backend = config.get(CONFIG_BACKEND);
+        RrdBackendFactory newFactory;
+        if (backend != null && BACKEND_NIO.equalsIgnoreCase(backend.toString().trim())) {
+            // memory-mapped files, changes are written to disk by the operating system and every syncPeriod seconds
+            newFactory = new RrdNioBackendFactory(syncPeriod, scheduler);
+            logger.debug("Using memory-mapped rrd4j backend with sync period {}s and at most {} open files", syncPeriod,
+                    maxOpenFiles);
+        } else {
+            if (backend != null && !BACKEND_FILE.equalsIgnoreCase(backend.toString().trim())) {
+                logger.warn("Unknown rrd4j backend '{}', using '{}'", backend, BACKEND_FILE);
+            }
+            newFactory = RrdBackendFactory.getDefaultFactory();
+        }
+
+        synchronized (openDatabases) {
+            // databases are reopened with the new backend on their next use
+            openDatabases.values().forEach(this::closeDB);
+            openDatabases.clear();
+            backendFactory = newFactory;
+        }
+    }
+
     @Deactivate
     protected void deactivate() {
         active = false;
@@ -273,6 +379,36 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        flushExecutor.shutdown();
+
+        synchronized (openDatabases) {
+            openDatabases.values().forEach(this::closeDB);
+            openDatabases.clear();
+        }
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        MeterRegistry registry = meterRegistryProvider.getOHMeterRegistry();
+        Timer timer = Timer.builder(METRIC_PREFIX + "flush.duration")
+                .description("Time needed to write all pending values to the rrd4j databases").register(registry);
+        meters.add(timer);
+        meters.add(Gauge.builder(METRIC_PREFIX + "backlog", storageMap, Map::size)
+                .description("Number of values waiting to be written to the rrd4j databases").register(registry));
+        meters.add(Gauge.builder(METRIC_PREFIX + "open.databases", openDatabases, Map::size)
+                .description("Number of rrd4j databases kept open between two writes").register(registry));
+        flushTimer = timer;
+        meterRegistry = registry;
+    }
+
+    protected void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        MeterRegistry registry = meterRegistry;
+        flushTimer = null;
+        meterRegistry = null;
+        if (registry != null) {
+            meters.forEach(registry::remove);
+        }
+        meters.clear();
     }
 
     @Override
@@ -340,30 +476,72 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private void doStore(boolean force) {
         long now = System.currentTimeMillis() / 1000;
+        // group the values per item, the storage map is sorted by timestamp, so the values of each item are in order
+        Map<String, List<Map.Entry<Key, Double>>> pending = new LinkedHashMap<>();
         while (!storageMap.isEmpty()) {
             Key key = storageMap.firstKey();
             if (now > key.timestamp || force) {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
+                Map.Entry<Key, Double> entry = storageMap.pollFirstEntry();
+                pending.computeIfAbsent(key.name, k -> new ArrayList<>()).add(entry);
             } else {
-                return;
+                break;
             }
         }
-    }
+        if (pending.isEmpty()) {
+            return;
+        }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
+        long start = System.nanoTime();
+        List<Callable<Object>> tasks = pending.entrySet().stream()
+                .map(e -> Executors.callable(() -> writePointsToDatabase(e.getKey(), e.getValue()))).toList();
         try {
-            db = getDB(name, true);
+            if (tasks.size() == 1) {
+                tasks.get(0).call();
+            } else {
+                flushExecutor.invokeAll(tasks);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RejectedExecutionException e) {
+            // the executor is shut down, store in the calling thread
+            pending.forEach(this::writePointsToDatabase);
         } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            logger.warn("Failed to store values in rrd4j database: {}", e.getMessage());
         }
-        if (db == null) {
-            return;
+        Timer timer = flushTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
+        logger.trace("Stored values of {} items in {} ms", pending.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
 
+    private void writePointsToDatabase(String name, List<Map.Entry<Key, Double>> points) {
+        synchronized (itemLocks[Math.floorMod(name.hashCode(), LOCK_STRIPES)]) {
+            RrdDb db = null;
+            try {
+                db = getDB(name, true);
+            } catch (Exception e) {
+                logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            }
+            if (db == null) {
+                return;
+            }
+
+            for (Map.Entry<Key, Double> point : points) {
+                writePointToDatabase(db, name, point.getValue(), point.getKey().timestamp);
+            }
+
+            // keep the database open for the next write, unless another reference is kept already
+            if (openDatabases.putIfAbsent(name, db) != null) {
+                closeDB(db);
+            }
+        }
+    }
+
+    private void writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -400,7 +578,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
+    }
+
+    private void closeDB(RrdDb db) {
         try {
+            // databases are requested from the pool, closing releases the reference and the pool closes the file
+            // when no references are left
             db.close();
         } catch (IOException e) {
             logger.debug("Error closing rrd4j database: {}", e.getMessage());
@@ -541,12 +724,13 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            builder.setBackendFactory(backendFactory);
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -21,8 +21,14 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import javax.imageio.ImageIO;
 import javax.servlet.Servlet;
@@ -33,6 +39,7 @@ import javax.servlet.ServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
@@ -48,6 +55,7 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
 import org.rrd4j.ConsolFun;
+import org.rrd4j.core.FetchData;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.graph.RrdGraph;
@@ -103,6 +111,30 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             entry("Y", Duration.ofDays(365))//
     );
 
+    // charts ending less than this number of seconds before now are considered live and cached
+    private static final long LIVE_CHART_TOLERANCE = 60;
+    private static final long DEFAULT_REFRESH_STEP = 60;
+    private static final int MAX_CACHED_CHARTS = 32;
+
+    private final ExecutorService executor = ThreadPoolManager.getPool("rrd4j-chart");
+    // access ordered, so the least recently requested chart is evicted first, guarded by synchronizing on the map
+    private final Map<String, CachedChart> chartCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedChart> eldest) {
+            return size() > MAX_CACHED_CHARTS;
+        }
+    };
+
+    /**
+     * A rendered (or currently rendering) chart, concurrent requests for the same chart wait for the same rendering.
+     */
+    private static class CachedChart {
+        private final CompletableFuture<BufferedImage> image = new CompletableFuture<>();
+        private volatile long validUntil = Long.MAX_VALUE;
+    }
+
     private final HttpService httpService;
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
@@ -128,6 +160,9 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Deactivate
     protected void deactivate() {
         httpService.unregister(SERVLET_NAME);
+        synchronized (chartCache) {
+            chartCache.clear();
+        }
     }
 
     @Override
@@ -178,33 +213,21 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
      * @param graphDef the graph definition to fill
      * @param item the item to add a line for
      * @param counter defines the number of the datasource and is used to determine the line color
+     * @param data the values to draw
      */
-    protected void addLine(RrdGraphDef graphDef, Item item, int counter) {
+    protected void addLine(RrdGraphDef graphDef, Item item, int counter, FetchData data) {
         Color color = LINECOLORS[counter % LINECOLORS.length];
         String label = itemUIRegistry.getLabel(item.getName());
-        String rrdName = RRD4jPersistenceService.getDatabasePath(item.getName()).toString();
-        ConsolFun consolFun;
         if (label != null && label.contains("[") && label.contains("]")) {
             label = label.substring(0, label.indexOf('['));
         }
-        try {
-            Builder builder = RrdDb.getBuilder();
-            builder.setPool(RRD4jPersistenceService.getDatabasePool());
-            builder.setPath(rrdName);
-
-            RrdDb db = builder.build();
-            consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
-            db.close();
-        } catch (IOException e) {
-            consolFun = ConsolFun.MAX;
-        }
         if (item instanceof NumberItem) {
             // we only draw a line
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
+            graphDef.datasource(Integer.toString(counter), "state", data);
             graphDef.line(Integer.toString(counter), color, label, 2);
         } else {
             // we draw a line and fill the area beneath it with a transparent color
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
+            graphDef.datasource(Integer.toString(counter), "state", data);
             Color areaColor = AREACOLORS[counter % LINECOLORS.length];
 
             graphDef.area(Integer.toString(counter), areaColor);
@@ -212,6 +235,36 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         }
     }
 
+    /**
+     * Fetches the values of an item from its database. This is called in parallel for all items of a chart.
+     *
+     * @param item the item to fetch the values for
+     * @param start the start of the chart in epoch seconds
+     * @param end the end of the chart in epoch seconds
+     * @param width the width of the chart, used to select the archive with a matching resolution
+     * @return the values
+     */
+    private FetchData fetchData(Item item, long start, long end, int width) {
+        String rrdName = RRD4jPersistenceService.getDatabasePath(item.getName()).toString();
+        try {
+            Builder builder = RrdDb.getBuilder();
+            builder.setPool(RRD4jPersistenceService.getDatabasePool());
+            builder.setBackendFactory(RRD4jPersistenceService.getBackendFactory());
+            builder.setPath(rrdName);
+
+            RrdDb db = builder.build();
+            try {
+                ConsolFun consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
+                return db.createFetchRequest(consolFun, start, end, Math.max(1, (end - start) / Math.max(1, width)))
+                        .fetchData();
+            } finally {
+                db.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error fetching data for RrdGraph from " + rrdName, e);
+        }
+    }
+
     @Override
     public void init(@Nullable ServletConfig config) throws ServletException {
     }
@@ -242,23 +295,13 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     public BufferedImage createChart(@Nullable String service, @Nullable String theme, ZonedDateTime startTime,
             ZonedDateTime endTime, int height, int width, @Nullable String items, @Nullable String groups,
             @Nullable Integer dpi, @Nullable Boolean legend) throws ItemNotFoundException {
-        RrdGraphDef graphDef = new RrdGraphDef(startTime.toEpochSecond(), endTime.toEpochSecond());
-        graphDef.setWidth(width);
-        graphDef.setHeight(height);
-        graphDef.setAntiAliasing(true);
-        graphDef.setImageFormat("PNG");
-        graphDef.setTextAntiAliasing(true);
-        graphDef.setFont(FontTag.TITLE, new Font("SansSerif", Font.PLAIN, 15));
-        graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
-
-        int seriesCounter = 0;
+        List<Item> chartItems = new ArrayList<>();
 
         // Loop through all the items
         if (items != null) {
             String[] itemNames = items.split(",");
             for (String itemName : itemNames) {
-                Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, seriesCounter++);
+                chartItems.add(itemUIRegistry.getItem(itemName));
             }
         }
 
@@ -268,15 +311,89 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             for (String groupName : groupNames) {
                 Item item = itemUIRegistry.getItem(groupName);
                 if (item instanceof GroupItem groupItem) {
-                    for (Item member : groupItem.getMembers()) {
-                        addLine(graphDef, member, seriesCounter++);
-                    }
+                    chartItems.addAll(groupItem.getMembers());
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
                 }
             }
         }
 
+        long start = startTime.toEpochSecond();
+        long end = endTime.toEpochSecond();
+        long now = System.currentTimeMillis() / 1000;
+        if (Math.abs(now - end) > LIVE_CHART_TOLERANCE) {
+            // charts of the past are requested rarely, do not cache them
+            return renderChart(chartItems, start, end, height, width, null);
+        }
+
+        String key = items + "|" + groups + "|" + (end - start) + "|" + width + "x" + height;
+        CachedChart created = new CachedChart();
+        CachedChart cached;
+        synchronized (chartCache) {
+            cached = chartCache.get(key);
+            if (cached == null || now >= cached.validUntil || cached.image.isCompletedExceptionally()) {
+                chartCache.put(key, created);
+                cached = created;
+            }
+        }
+        if (cached != created) {
+            try {
+                return cached.image.join();
+            } catch (CompletionException e) {
+                // the rendering of the other request failed, render again
+                return renderChart(chartItems, start, end, height, width, null);
+            }
+        }
+
+        try {
+            BufferedImage image = renderChart(chartItems, start, end, height, width, created);
+            created.image.complete(image);
+            return image;
+        } catch (RuntimeException e) {
+            synchronized (chartCache) {
+                chartCache.remove(key, created);
+            }
+            created.image.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private BufferedImage renderChart(List<Item> chartItems, long start, long end, int height, int width,
+            @Nullable CachedChart cachedChart) {
+        // fetch the series of all items in parallel
+        List<CompletableFuture<FetchData>> fetches = chartItems.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> fetchData(item, start, end, width), executor))
+                .toList();
+
+        RrdGraphDef graphDef = new RrdGraphDef(start, end);
+        graphDef.setWidth(width);
+        graphDef.setHeight(height);
+        graphDef.setAntiAliasing(true);
+        graphDef.setImageFormat("PNG");
+        graphDef.setTextAntiAliasing(true);
+        graphDef.setFont(FontTag.TITLE, new Font("SansSerif", Font.PLAIN, 15));
+        graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
+
+        // the chart changes when the first of the used archives advances a step
+        long refreshStep = Long.MAX_VALUE;
+        for (int seriesCounter = 0; seriesCounter < chartItems.size(); seriesCounter++) {
+            FetchData data;
+            try {
+                data = fetches.get(seriesCounter).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            addLine(graphDef, chartItems.get(seriesCounter), seriesCounter, data);
+            refreshStep = Math.min(refreshStep, Math.max(1, data.getStep()));
+        }
+        if (cachedChart != null) {
+            long step = refreshStep == Long.MAX_VALUE ? DEFAULT_REFRESH_STEP : refreshStep;
+            cachedChart.validUntil = (end / step + 1) * step;
+        }
+
         // Write the chart as a PNG image
         try {
             RrdGraph graph = new RrdGraph(graphDef);
@@ -13,12 +13,10 @@
 package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,7 +29,13 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
@@ -44,10 +48,29 @@ import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
 @Component(property = { "openhab.transform=JINJA" })
 public class JinjaTransformationService implements TransformationService {
 
+    private static final int TEMPLATE_CACHE_SIZE = 256;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
     private final Jinjava jinjava = new Jinjava();
 
+    // several templates are usually applied to the same value right after each other
+    private volatile @Nullable ParsedValue lastParsedValue;
+
+    private record ParsedValue(String value, boolean isJson, @Nullable Object json) {
+    }
+
+    private final Map<String, Node> parsedTemplates = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Node> eldest) {
+            return size() > TEMPLATE_CACHE_SIZE;
+        }
+    };
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -64,15 +87,13 @@ public class JinjaTransformationService implements TransformationService {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        ParsedValue parsedValue = parseValue(value);
+        if (parsedValue.isJson()) {
+            bindings.put("value_json", parsedValue.json());
         }
 
         try {
-            transformationResult = jinjava.render(template, bindings);
+            transformationResult = render(template, bindings);
         } catch (FatalTemplateErrorsException e) {
             throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
         }
@@ -82,33 +103,81 @@ public class JinjaTransformationService implements TransformationService {
         return transformationResult;
     }
 
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
-                List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
-                }
-                return result;
+    /**
+     * Parses the value as JSON. The result for the last value is reused, the converted JSON is read-only and can be
+     * shared between transformations.
+     */
+    private ParsedValue parseValue(String value) {
+        ParsedValue parsedValue = lastParsedValue;
+        if (parsedValue != null && parsedValue.value().equals(value)) {
+            return parsedValue;
+        }
+        try {
+            JsonNode tree = OBJECT_MAPPER.readTree(value);
+            parsedValue = new ParsedValue(value, true, LazyJsonValue.of(tree));
+        } catch (IOException e) {
+            // ok, then value_json is null...
+            parsedValue = new ParsedValue(value, false, null);
+        }
+        lastParsedValue = parsedValue;
+        return parsedValue;
+    }
+
+    /**
+     * Renders the template like {@link Jinjava#render(String, Map)} does, but reuses the parsed template.
+     */
+    private String render(String template, Map<String, @Nullable Object> bindings) {
+        Node root = getParsedTemplate(template);
+        if (root == null) {
+            // let Jinjava report the errors of the template
+            return jinjava.render(template, bindings);
+        }
+
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava,
+                new Context(jinjava.getGlobalContext(), bindings), jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            String result = interpreter.render(root);
+            List<TemplateError> fatalErrors = interpreter.getErrorsCopy().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).toList();
+            if (!fatalErrors.isEmpty()) {
+                throw new FatalTemplateErrorsException(template, fatalErrors);
             }
-            case NUMBER:
-                return node.decimalValue();
-            case OBJECT: {
-                Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
-                }
-                return result;
+            return result;
+        } catch (InterpretException e) {
+            throw new FatalTemplateErrorsException(template, List.of(TemplateError.fromSyntaxError(e)));
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    /**
+     * Gets the parsed template from the cache, parsing it if necessary.
+     *
+     * @return the root node of the template, or null if the template contains errors
+     */
+    private @Nullable Node getParsedTemplate(String template) {
+        synchronized (parsedTemplates) {
+            Node root = parsedTemplates.get(template);
+            if (root != null) {
+                return root;
             }
-            case STRING:
-                return node.asText();
-            case BOOLEAN:
-                return node.asBoolean();
-            case NULL:
-            default:
-                return null;
         }
+
+        JinjavaInterpreter parser = jinjava.newInterpreter();
+        JinjavaInterpreter.pushCurrent(parser);
+        Node root;
+        try {
+            root = parser.parse(template);
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+        if (!parser.getErrorsCopy().isEmpty()) {
+            return null;
+        }
+        synchronized (parsedTemplates) {
+            parsedTemplates.put(template, root);
+        }
+        return root;
     }
 }
@@ -113,4 +113,31 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testTemplateIsReused() throws TransformationException {
+        String template = "{{ value_json.temperature }} {{ value_json.unit }}";
+
+        assertEquals("4.7 C", processor.transform(template, "{\"temperature\": 4.7, \"unit\": \"C\"}"));
+        assertEquals("40.5 F", processor.transform(template, "{\"temperature\": 40.5, \"unit\": \"F\"}"));
+    }
+
+    @Test
+    public void testArrays() throws TransformationException {
+        String json = "{\"list\": [1, 2, {\"name\": \"three\"}]}";
+
+        assertEquals("3", processor.transform("{{ value_json.list | length }}", json));
+        assertEquals("three", processor.transform("{{ value_json.list[2].name }}", json));
+        assertEquals("1,2,", processor.transform("{% for item in value_json %}{{ item }},{% endfor %}", "[1, 2]"));
+    }
+
+    @Test
+    public void testObjectIteration() throws TransformationException {
+        String json = "{\"a\": 1, \"b\": \"two\"}";
+
+        String template = "{% for k, v in value_json.items() %}{{ k }}={{ v }},{% endfor %}";
+
+        assertEquals("a=1,b=two,", processor.transform(template, json));
+        assertEquals("2", processor.transform("{{ value_json | length }}", json));
+    }
 }
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * The {@link JSonPathDocumentCache} keeps the most recently parsed JSON documents for a short time, so that
+ * transformations of the same source with different expressions only parse the source once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JSonPathDocumentCache {
+
+    private final Map<String, CachedDocument> documents;
+    private final long maxAgeNanos;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record CachedDocument(DocumentContext document, long created) {
+    }
+
+    /**
+     * @param maxSize the maximum number of cached documents
+     * @param maxAgeMillis the time in milliseconds a parsed document is reused
+     */
+    JSonPathDocumentCache(int maxSize, long maxAgeMillis) {
+        this.maxAgeNanos = maxAgeMillis * 1_000_000L;
+        documents = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDocument> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the parsed document for the source, parsing it if it is not cached or has expired.
+     *
+     * @param source the JSON source
+     * @return the parsed document
+     * @throws com.jayway.jsonpath.InvalidJsonException if the source is not valid JSON
+     */
+    DocumentContext get(String source) {
+        long now = System.nanoTime();
+        synchronized (documents) {
+            CachedDocument cached = documents.get(source);
+            if (cached != null) {
+                if (now - cached.created() <= maxAgeNanos) {
+                    hits.incrementAndGet();
+                    return cached.document();
+                }
+                documents.remove(source);
+            }
+        }
+        misses.incrementAndGet();
+        // parse outside the lock, invalid documents are not cached
+        DocumentContext document = JsonPath.parse(source);
+        synchronized (documents) {
+            documents.put(source, new CachedDocument(document, now));
+        }
+        return document;
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+}
@@ -39,8 +39,15 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int DOCUMENT_CACHE_SIZE = 16;
+    private static final long DOCUMENT_CACHE_MAX_AGE_MILLIS = 2000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    // one message is usually transformed by several channels right after each other
+    private final JSonPathDocumentCache documentCache = new JSonPathDocumentCache(DOCUMENT_CACHE_SIZE,
+            DOCUMENT_CACHE_MAX_AGE_MILLIS);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +69,8 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            // the compiled expression is cached by the JsonPath library
+            Object transformationResult = documentCache.get(source).read(jsonPathExpression);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +86,10 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    JSonPathDocumentCache getDocumentCache() {
+        return documentCache;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -129,4 +129,17 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testSourceIsParsedOnce() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("2", processor.transform("$[1].id", JSON_ARRAY));
+        // an equal source is reused, not only the same instance
+        assertEquals("alice", processor.transform("$[1].name", new String(JSON_ARRAY)));
+        assertEquals("1", processor.transform("$[0].id", "[{\"id\":1}]"));
+
+        JSonPathDocumentCache cache = processor.getDocumentCache();
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
 }
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link RegExPatternCache} is a bounded cache of compiled {@link Pattern}s, keyed by the regular expression and
+ * its flags. The least recently used pattern is evicted when the cache is full.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class RegExPatternCache {
+
+    private final Map<Key, Pattern> patterns;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record Key(String regex, int flags) {
+    }
+
+    RegExPatternCache(int maxSize) {
+        patterns = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Pattern> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the compiled pattern, compiling it if it is not cached yet.
+     *
+     * @param regex the regular expression
+     * @param flags the match flags as used by {@link Pattern#compile(String, int)}
+     * @return the compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    Pattern get(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        synchronized (patterns) {
+            Pattern pattern = patterns.get(key);
+            if (pattern != null) {
+                hits.incrementAndGet();
+                return pattern;
+            }
+        }
+        misses.incrementAndGet();
+        // compile outside the lock, invalid expressions are not cached
+        Pattern pattern = Pattern.compile(regex, flags);
+        synchronized (patterns) {
+            patterns.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    int size() {
+        synchronized (patterns) {
+            return patterns.size();
+        }
+    }
+}
@@ -39,6 +39,9 @@ public class RegExTransformationService implements TransformationService {
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+    private static final int PATTERN_CACHE_SIZE = 256;
+
+    private final RegExPatternCache patternCache = new RegExPatternCache(PATTERN_CACHE_SIZE);
 
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
@@ -56,17 +59,18 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher substituteMatcher = patternCache.get(regex, 0).matcher(source.trim());
             if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = substituteMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = substituteMatcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = patternCache.get("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +98,8 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    RegExPatternCache getPatternCache() {
+        return patternCache;
+    }
 }
@@ -14,6 +14,8 @@ package org.openhab.transform.regex.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.regex.Pattern;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -75,4 +77,30 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_patternIsCompiledOnce() throws TransformationException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("8", processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", source));
+            assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        }
+
+        RegExPatternCache cache = processor.getPatternCache();
+        assertEquals(2, cache.getMisses());
+        assertEquals(8, cache.getHits());
+    }
+
+    @Test
+    public void testPatternCache_evictsLeastRecentlyUsed() {
+        RegExPatternCache cache = new RegExPatternCache(2);
+        Pattern a = cache.get("a", 0);
+        cache.get("b", 0);
+        assertSame(a, cache.get("a", 0));
+        // b is the least recently used pattern now
+        cache.get("c", 0);
+        assertEquals(2, cache.size());
+        assertSame(a, cache.get("a", 0));
+        assertNotSame(a, cache.get("a", Pattern.DOTALL));
+        assertEquals(4, cache.getMisses());
+    }
 }
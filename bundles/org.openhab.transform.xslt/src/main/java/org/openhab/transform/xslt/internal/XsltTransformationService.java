@@ -15,9 +15,12 @@ package org.openhab.transform.xslt.internal;
 import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -43,6 +46,12 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<String, CachedTemplates> templatesCache = new ConcurrentHashMap<>();
+
+    private record CachedTemplates(Templates templates, long lastModified, long length) {
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +69,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        File xsl;
 
         try {
             String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
                     + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            xsl = new File(path);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -81,7 +90,7 @@ public class XsltTransformationService implements TransformationService {
         Transformer transformer;
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            transformer = getTemplates(xsl).newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +101,29 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    /**
+     * Gets the compiled stylesheet. Compiled stylesheets are cached until the file is modified.
+     */
+    private Templates getTemplates(File xsl) throws TransformerConfigurationException {
+        String key = xsl.getPath();
+        long lastModified = xsl.lastModified();
+        long length = xsl.length();
+        CachedTemplates cached = templatesCache.get(key);
+        if (cached != null && cached.lastModified() == lastModified && cached.length() == length) {
+            return cached.templates();
+        }
+        logger.debug("compiling stylesheet '{}'", xsl);
+        Templates templates;
+        // TransformerFactory is not thread-safe
+        synchronized (transformerFactory) {
+            templates = transformerFactory.newTemplates(new StreamSource(xsl));
+        }
+        templatesCache.put(key, new CachedTemplates(templates, lastModified, length));
+        return templates;
+    }
+
+    int getCachedTemplatesCount() {
+        return templatesCache.size();
+    }
 }
@@ -14,9 +14,17 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationService;
 
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
@@ -38,4 +46,48 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXSLT_stylesheetIsCompiledOnce() throws TransformationException {
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+
+        assertEquals(1, processor.getCachedTemplatesCount());
+    }
+
+    @Test
+    public void testTransformByXSLT_modifiedStylesheetIsReloaded(@TempDir Path configFolder)
+            throws TransformationException, IOException {
+        Path xsl = configFolder.resolve(TransformationService.TRANSFORM_FOLDER_NAME).resolve("temp.xsl");
+        Files.createDirectories(xsl.getParent());
+        String previousConfigFolder = System.getProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT);
+        System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, configFolder.toString());
+        try {
+            Files.writeString(xsl, stylesheet("temp_c"));
+            assertEquals("8", processor.transform("temp.xsl", source));
+
+            Files.writeString(xsl, stylesheet("temp_f"));
+            Files.setLastModifiedTime(xsl, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+            assertEquals("46", processor.transform("temp.xsl", source));
+        } finally {
+            if (previousConfigFolder == null) {
+                System.clearProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT);
+            } else {
+                System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, previousConfigFolder);
+            }
+        }
+    }
+
+    private static String stylesheet(String element) {
+        return """
+                <?xml version="1.0"?>
+                <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="1.0">
+                    <xsl:output method="text" />
+                    <xsl:template match="text()" />
+                    <xsl:template match="//current_conditions">
+                        <xsl:value-of select="%s/@data" />
+                    </xsl:template>
+                </xsl:stylesheet>
+                """.formatted(element);
+    }
 }